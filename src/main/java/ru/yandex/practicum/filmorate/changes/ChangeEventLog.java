@@ -0,0 +1,129 @@
+package ru.yandex.practicum.filmorate.changes;
+
+import ru.yandex.practicum.filmorate.exception.OffsetExpiredException;
+import ru.yandex.practicum.filmorate.model.ChangeBatch;
+import ru.yandex.practicum.filmorate.model.ChangeEvent;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Журнал изменений в памяти. Событиям присваиваются последовательные номера начиная с 1; хранятся
+ * последние {@code capacity} событий, более ранние вытесняются. Читатель сам помнит, с какого номера
+ * продолжать, поэтому медленный читатель не накапливает очередь: он либо догоняет журнал, либо
+ * получает {@link OffsetExpiredException}, когда нужные ему события уже вытеснены.
+ */
+public class ChangeEventLog {
+
+    private final ChangeEvent[] events;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Set<Runnable> waiters = new LinkedHashSet<>();
+    private long nextOffset = 1;
+
+    public ChangeEventLog(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ёмкость журнала изменений должна быть положительной: " + capacity);
+        }
+        this.events = new ChangeEvent[capacity];
+    }
+
+    public ChangeEvent append(String entity, String operation, int id, long version, String data) {
+        ChangeEvent event;
+        List<Runnable> ready;
+        lock.lock();
+        try {
+            event = new ChangeEvent(nextOffset, entity, operation, id, version, data);
+            events[index(nextOffset)] = event;
+            nextOffset++;
+            ready = List.copyOf(waiters);
+            waiters.clear();
+        } finally {
+            lock.unlock();
+        }
+        ready.forEach(Runnable::run);
+        return event;
+    }
+
+    /**
+     * Возвращает до {@code limit} событий начиная с номера {@code from}; номер меньше 1 означает начало журнала.
+     *
+     * @throws OffsetExpiredException если часть запрошенных событий уже вытеснена
+     */
+    public ChangeBatch read(long from, int limit) {
+        lock.lock();
+        try {
+            long start = Math.max(from, 1);
+            long first = firstOffset();
+            if (start < first) {
+                throw new OffsetExpiredException("События с номера " + start
+                        + " уже удалены из журнала, самое раннее доступное — " + first);
+            }
+            long end = Math.min(nextOffset, start + limit);
+            List<ChangeEvent> batch = new ArrayList<>((int) Math.max(0, end - start));
+            for (long offset = start; offset < end; offset++) {
+                batch.add(events[index(offset)]);
+            }
+            return new ChangeBatch(batch, Math.max(start, end));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Вызывает {@code callback}, как только в журнале появится событие с номером не меньше {@code from}:
+     * сразу, если оно уже есть, иначе в потоке, который его добавит. Обработчик не должен блокироваться.
+     *
+     * @return действие, отменяющее ожидание
+     */
+    public Runnable onAvailable(long from, Runnable callback) {
+        lock.lock();
+        try {
+            if (nextOffset <= Math.max(from, 1)) {
+                waiters.add(callback);
+                return () -> cancel(callback);
+            }
+        } finally {
+            lock.unlock();
+        }
+        callback.run();
+        return () -> { };
+    }
+
+    public long nextOffset() {
+        lock.lock();
+        try {
+            return nextOffset;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int waiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cancel(Runnable callback) {
+        lock.lock();
+        try {
+            waiters.remove(callback);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private long firstOffset() {
+        return Math.max(1, nextOffset - events.length);
+    }
+
+    private int index(long offset) {
+        return (int) (offset % events.length);
+    }
+}
@@ -0,0 +1,26 @@
+package ru.yandex.practicum.filmorate.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder storageSizeMetrics(FilmStorage filmStorage, UserStorage userStorage) {
+        return registry -> {
+            Gauge.builder("filmorate.storage.size", filmStorage, FilmStorage::size)
+                    .description("Количество записей в хранилище")
+                    .tag("entity", "film")
+                    .register(registry);
+            Gauge.builder("filmorate.storage.size", userStorage, UserStorage::size)
+                    .description("Количество записей в хранилище")
+                    .tag("entity", "user")
+                    .register(registry);
+        };
+    }
+}
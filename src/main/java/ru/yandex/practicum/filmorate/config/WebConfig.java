@@ -0,0 +1,62 @@
+package ru.yandex.practicum.filmorate.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.yandex.practicum.filmorate.ratelimit.AdmissionInterceptor;
+import ru.yandex.practicum.filmorate.serializer.BinaryFormats;
+import ru.yandex.practicum.filmorate.serializer.CachedJsonHttpMessageConverter;
+import ru.yandex.practicum.filmorate.serializer.JsonBytesCache;
+import ru.yandex.practicum.filmorate.serializer.NdjsonHttpMessageConverter;
+
+import java.util.List;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final JsonBytesCache jsonBytesCache;
+    private final BinaryFormats binaryFormats;
+    private final AdmissionInterceptor admissionInterceptor;
+
+    public WebConfig(JsonBytesCache jsonBytesCache, BinaryFormats binaryFormats,
+                     AdmissionInterceptor admissionInterceptor) {
+        this.jsonBytesCache = jsonBytesCache;
+        this.binaryFormats = binaryFormats;
+        this.admissionInterceptor = admissionInterceptor;
+    }
+
+    @Bean
+    static JsonBytesCache jsonBytesCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                                         @Value("${filmorate.cache.json.max-bytes:67108864}") long maxBytes) {
+        return new JsonBytesCache(objectMapper, maxBytes, meterRegistry);
+    }
+
+    @Bean
+    static BinaryFormats binaryFormats(ObjectProvider<Jackson2ObjectMapperBuilder> builders) {
+        return new BinaryFormats(builders::getObject);
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.addFirst(new CachedJsonHttpMessageConverter(jsonBytesCache));
+        converters.add(new NdjsonHttpMessageConverter(jsonBytesCache));
+        converters.removeIf(converter -> converter instanceof MappingJackson2CborHttpMessageConverter
+                || converter instanceof MappingJackson2SmileHttpMessageConverter);
+        converters.add(binaryFormats.cborConverter());
+        converters.add(binaryFormats.smileConverter());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(admissionInterceptor).addPathPatterns("/films/**", "/users/**");
+    }
+}
@@ -0,0 +1,116 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.BatchResult;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.serializer.BinaryFormats;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Пакетная загрузка: тело запроса — JSON-массив или NDJSON, читается потоково без буферизации целиком.
+ * В CBOR и Smile принимается массив или последовательность корневых значений.
+ */
+@RestController
+@Slf4j
+public class BatchController {
+
+    private final FilmService filmService;
+    private final UserService userService;
+    private final ObjectReader filmReader;
+    private final ObjectReader userReader;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    public BatchController(FilmService filmService, UserService userService, ObjectMapper objectMapper,
+                           BinaryFormats binaryFormats) {
+        this.filmService = filmService;
+        this.userService = userService;
+        this.filmReader = objectMapper.readerFor(Film.class);
+        this.userReader = objectMapper.readerFor(User.class);
+        this.cborMapper = binaryFormats.cborMapper();
+        this.smileMapper = binaryFormats.smileMapper();
+    }
+
+    @PostMapping(path = "/films/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResult> createFilms(InputStream body) throws IOException {
+        return process(filmReader, body, filmService::createAll);
+    }
+
+    @PostMapping(path = "/users/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResult> createUsers(InputStream body) throws IOException {
+        return process(userReader, body, userService::createAll);
+    }
+
+    @PostMapping(path = "/films/batch",
+            consumes = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormats.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<BatchResult> createFilms(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                   InputStream body) throws IOException {
+        return process(binaryReader(contentType, Film.class), body, filmService::createAll);
+    }
+
+    @PostMapping(path = "/users/batch",
+            consumes = {MediaType.APPLICATION_CBOR_VALUE, BinaryFormats.APPLICATION_SMILE_VALUE})
+    public ResponseEntity<BatchResult> createUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                   InputStream body) throws IOException {
+        return process(binaryReader(contentType, User.class), body, userService::createAll);
+    }
+
+    private ObjectReader binaryReader(MediaType contentType, Class<?> type) {
+        ObjectMapper mapper = MediaType.APPLICATION_CBOR.isCompatibleWith(contentType) ? cborMapper : smileMapper;
+        return mapper.readerFor(type);
+    }
+
+    private <T> ResponseEntity<BatchResult> process(ObjectReader reader, InputStream body,
+                                                    Function<Iterator<T>, BatchResult> handler) throws IOException {
+        BatchResult result;
+        try (MappingIterator<T> items = reader.readValues(body)) {
+            result = handler.apply(new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    try {
+                        return items.hasNextValue();
+                    } catch (IOException e) {
+                        throw malformedBatch(e);
+                    }
+                }
+
+                @Override
+                public T next() {
+                    try {
+                        return items.nextValue();
+                    } catch (IOException e) {
+                        throw malformedBatch(e);
+                    }
+                }
+            });
+        } catch (JsonProcessingException e) {
+            throw malformedBatch(e);
+        }
+        return ResponseEntity.status(result.isSuccessful() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST)
+                .body(result);
+    }
+
+    private ValidationException malformedBatch(IOException e) {
+        log.error("Не удалось разобрать пачку: {}", e.getMessage());
+        return new ValidationException("Некорректное тело пачки: " + e.getMessage());
+    }
+}
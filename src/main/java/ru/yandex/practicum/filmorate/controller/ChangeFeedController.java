@@ -0,0 +1,50 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.ChangeBatch;
+import ru.yandex.practicum.filmorate.service.ChangeFeedService;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/changes")
+@RequiredArgsConstructor
+@Slf4j
+public class ChangeFeedController {
+
+    static final int MAX_TIMEOUT_SECONDS = 60;
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private final ChangeFeedService changeFeedService;
+
+    // Данные событий встраиваются готовым JSON, поэтому двоичные форматы здесь не поддерживаются.
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ChangeBatch> poll(@RequestParam(defaultValue = "0") long from,
+                                            @RequestParam(defaultValue = "100") int limit,
+                                            @RequestParam(defaultValue = "30") int timeout) {
+        Pages.validateLimit(limit);
+        if (timeout < 0 || timeout > MAX_TIMEOUT_SECONDS) {
+            String message = "Время ожидания должно быть от 0 до " + MAX_TIMEOUT_SECONDS + " секунд";
+            log.error("Ошибка при чтении журнала изменений: {}", message);
+            throw new ValidationException(message);
+        }
+        return changeFeedService.poll(from, limit, Duration.ofSeconds(timeout));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(defaultValue = "0") long from,
+                             @RequestHeader(name = LAST_EVENT_ID_HEADER, required = false) Long lastEventId) {
+        return changeFeedService.stream(lastEventId != null ? lastEventId + 1 : from);
+    }
+
+    @GetMapping("/offset")
+    public long nextOffset() {
+        return changeFeedService.nextOffset();
+    }
+}
@@ -0,0 +1,65 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.springframework.http.ResponseEntity;
+import ru.yandex.practicum.filmorate.exception.PreconditionFailedException;
+import ru.yandex.practicum.filmorate.service.CollectionVersion;
+
+import java.util.HashSet;
+import java.util.Set;
+
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Разбирает заголовок If-Match в множество ожидаемых версий сущности.
+     * Отсутствующий заголовок и «*» означают обновление без проверки версии. If-Match сравнивает теги
+     * строго (RFC 9110), поэтому слабые теги ничему не соответствуют, а заголовок из одних слабых тегов — это 412.
+     */
+    static Set<Long> parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return Set.of();
+        }
+        Set<Long> versions = new HashSet<>();
+        for (String tag : header.split(",")) {
+            String value = tag.trim();
+            if (value.startsWith("W/")) {
+                continue;
+            }
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1);
+            }
+            try {
+                versions.add(Long.parseLong(value));
+            } catch (NumberFormatException e) {
+                throw new PreconditionFailedException("Некорректный ETag в If-Match: " + tag.trim());
+            }
+        }
+        if (versions.isEmpty()) {
+            throw new PreconditionFailedException("If-Match содержит только слабые ETag: " + header.trim());
+        }
+        return versions;
+    }
+
+    /**
+     * Добавляет к ответу ETag и Last-Modified коллекции. Если версия клиента актуальна, Spring MVC
+     * отвечает 304 и не сериализует тело.
+     */
+    static <T> ResponseEntity<T> collection(CollectionVersion.Stamp stamp, T body) {
+        return ResponseEntity.ok()
+                .eTag(stamp.etag())
+                .lastModified(stamp.lastModified())
+                .body(body);
+    }
+
+    static <T> ResponseEntity<T> entity(long version, T body) {
+        return ResponseEntity.ok()
+                .eTag(of(version))
+                .body(body);
+    }
+}
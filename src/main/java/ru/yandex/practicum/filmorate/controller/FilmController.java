@@ -1,97 +1,106 @@
 package ru.yandex.practicum.filmorate.controller;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import ru.yandex.practicum.filmorate.exception.ConditionsNotMetException;
-import ru.yandex.practicum.filmorate.exception.NotFoundException;
-import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.MultiGetResult;
+import ru.yandex.practicum.filmorate.service.CollectionVersion;
+import ru.yandex.practicum.filmorate.service.FilmService;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 @RestController
 @RequestMapping("/films")
-@Slf4j
+@RequiredArgsConstructor
 public class FilmController {
 
-    private final Map<Integer, Film> films = new HashMap<>();
+    private final FilmService filmService;
 
+    /**
+     * Без параметров возвращает все фильмы. Параметры фильтруют по дате выхода (ISO-дата, включительно)
+     * и продолжительности (в секундах, включительно). Ответ несёт ETag и Last-Modified всей коллекции.
+     */
     @GetMapping
-    public Collection<Film> findAll() {
-        return films.values();
+    public ResponseEntity<Collection<Film>> findAll(@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                    LocalDate releasedFrom,
+                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+                                    LocalDate releasedTo,
+                                    @RequestParam(required = false) Long minDuration,
+                                    @RequestParam(required = false) Long maxDuration) {
+        CollectionVersion.Stamp version = filmService.version();
+        if (releasedFrom == null && releasedTo == null && minDuration == null && maxDuration == null) {
+            return ETags.collection(version, filmService.findAll());
+        }
+        return ETags.collection(version, filmService.findByRange(releasedFrom, releasedTo,
+                minDuration == null ? null : Duration.ofSeconds(minDuration),
+                maxDuration == null ? null : Duration.ofSeconds(maxDuration)));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<Film> findById(@PathVariable int id) {
+        Film film = filmService.findById(id);
+        return ETags.entity(film.getVersion(), film);
+    }
+
+    /**
+     * Возвращает записи по списку id ({@code ?ids=1,2,3}); id, которых нет, перечислены в поле missing.
+     */
+    @GetMapping(params = {"ids", "!limit"})
+    public ResponseEntity<MultiGetResult<Film>> findByIds(@RequestParam List<Integer> ids) {
+        Pages.validateIds(ids);
+        CollectionVersion.Stamp version = filmService.version();
+        return ETags.collection(version, filmService.findByIds(ids));
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<Film>> findPage(@RequestParam(defaultValue = "0") int after, @RequestParam int limit) {
+        Pages.validateLimit(limit);
+        CollectionVersion.Stamp version = filmService.version();
+        List<Film> page = filmService.findPage(after, limit);
+        return Pages.page(page, limit, filmService.count(), Film::getId, version);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Collection<Film>> stream() {
+        CollectionVersion.Stamp version = filmService.version();
+        return Pages.stream(filmService.findAll(), filmService.count(), version);
     }
 
     @PostMapping
     public Film create(@RequestBody Film film) {
-        if (film.getName() == null || film.getName().isBlank()) {
-            String message = "Название не может быть пустым";
-            log.error("Ошибка при добавлении фильма: {}", message);
-            throw new ValidationException(message);
-        }
-        validate(film);
-        film.setId(getNextId());
-        films.put(film.getId(), film);
-        log.info("Фильм добавлен: {}", film);
-        return film;
+        return filmService.create(film);
     }
 
+    /**
+     * Обновляет фильм. С заголовком If-Match обновление выполняется, только если текущая версия фильма
+     * совпадает с одним из переданных ETag, иначе — 412.
+     */
     @PutMapping
-    public Film update(@RequestBody Film newFilm) {
-        if (newFilm.getId() <= 0) {
-            String message = "Id должен быть указан";
-            log.error("Ошибка при обновлении фильма: {}", message);
-            throw new ConditionsNotMetException(message);
-        }
-        if (films.containsKey(newFilm.getId())) {
-            validate(newFilm);
-            Film oldFilm = films.get(newFilm.getId());
-            if (newFilm.getName() != null) {
-                oldFilm.setName(newFilm.getName());
-            }
-            if (newFilm.getDescription() != null) {
-                oldFilm.setDescription(newFilm.getDescription());
-            }
-            if (newFilm.getReleaseDate() != null) {
-                oldFilm.setReleaseDate(newFilm.getReleaseDate());
-            }
-            if (newFilm.getDuration() != null) {
-                oldFilm.setDuration(newFilm.getDuration());
-            }
-            log.info("Фильм обновлён: {}", oldFilm);
-            return oldFilm;
-        }
-        log.error("Фильм с id = {} не найден", newFilm.getId());
-        throw new NotFoundException("Фильм с id = " + newFilm.getId() + " не найден");
+    public ResponseEntity<Film> update(@RequestBody Film newFilm,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Film updated = filmService.update(newFilm, ETags.parseIfMatch(ifMatch));
+        return ETags.entity(updated.getVersion(), updated);
     }
 
-    private void validate(Film film) {
-        if (film.getDescription() != null && film.getDescription().length() > 200) {
-            String message = "Максимальная длина описания — 200 символов";
-            log.error("Ошибка при валидации фильма: {}", message);
-            throw new ValidationException(message);
-        }
-        if (film.getReleaseDate().isBefore(LocalDate.of(1895, 12, 28))) {
-            String message = "Дата релиза — не раньше 28 декабря 1895 года";
-            log.error("Ошибка при валидации фильма: {}", message);
-            throw new ValidationException(message);
-        }
-        if (film.getDuration().isNegative() || film.getDuration().isZero()) {
-            String message = "Продолжительность фильма должна быть положительным числом";
-            log.error("Ошибка при валидации фильма: {}", message);
-            throw new ValidationException(message);
-        }
-        log.debug("Валидация фильма прошла успешно: {}", film.getName());
+    @PutMapping("/{id}/like/{userId}")
+    public void addLike(@PathVariable int id, @PathVariable int userId) {
+        filmService.addLike(id, userId);
+    }
+
+    @DeleteMapping("/{id}/like/{userId}")
+    public void removeLike(@PathVariable int id, @PathVariable int userId) {
+        filmService.removeLike(id, userId);
     }
 
-    private int getNextId() {
-        int currentMaxId = films.keySet()
-                .stream()
-                .mapToInt(id -> id)
-                .max()
-                .orElse(0);
-        return ++currentMaxId;
+    @GetMapping("/popular")
+    public List<Film> findPopular(@RequestParam(defaultValue = "10") int count) {
+        return filmService.findPopular(count);
     }
 }
@@ -0,0 +1,22 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.FilmSearchService;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/films/search")
+@RequiredArgsConstructor
+public class FilmSearchController {
+
+    private final FilmSearchService filmSearchService;
+
+    @GetMapping
+    public List<Film> search(@RequestParam String query, @RequestParam(defaultValue = "20") int limit) {
+        Pages.validateLimit(limit);
+        return filmSearchService.search(query, limit);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.springframework.http.ResponseEntity;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.service.CollectionVersion;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+final class Pages {
+
+    static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+    static final String NEXT_AFTER_HEADER = "X-Next-After";
+    static final int MAX_LIMIT = 1000;
+
+    private Pages() {
+    }
+
+    static void validateLimit(int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new ValidationException("Параметр limit должен быть от 1 до " + MAX_LIMIT);
+        }
+    }
+
+    static void validateIds(List<Integer> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_LIMIT) {
+            throw new ValidationException("Параметр ids должен содержать от 1 до " + MAX_LIMIT + " id");
+        }
+    }
+
+    static <T> ResponseEntity<List<T>> page(List<T> items, int limit, int total, ToIntFunction<T> idExtractor,
+                                            CollectionVersion.Stamp version) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .header(TOTAL_COUNT_HEADER, String.valueOf(total));
+        if (items.size() == limit) {
+            response.header(NEXT_AFTER_HEADER, String.valueOf(idExtractor.applyAsInt(items.getLast())));
+        }
+        return response.body(items);
+    }
+
+    static <T> ResponseEntity<Collection<T>> stream(Collection<T> items, int total, CollectionVersion.Stamp version) {
+        return ResponseEntity.ok()
+                .eTag(version.etag())
+                .lastModified(version.lastModified())
+                .header(TOTAL_COUNT_HEADER, String.valueOf(total))
+                .body(items);
+    }
+}
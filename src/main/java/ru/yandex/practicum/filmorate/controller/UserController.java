@@ -1,102 +1,104 @@
 package ru.yandex.practicum.filmorate.controller;
 
-import lombok.extern.slf4j.Slf4j;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-import ru.yandex.practicum.filmorate.exception.ConditionsNotMetException;
-import ru.yandex.practicum.filmorate.exception.NotFoundException;
-import ru.yandex.practicum.filmorate.exception.ValidationException;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.model.MultiGetResult;
+import ru.yandex.practicum.filmorate.service.CollectionVersion;
+import ru.yandex.practicum.filmorate.service.UserService;
 
-import java.time.LocalDate;
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 
 @RestController
 @RequestMapping("/users")
-@Slf4j
+@RequiredArgsConstructor
 public class UserController {
 
-    private final Map<Integer, User> users = new HashMap<>();
+    private final UserService userService;
 
     @GetMapping
-    public Collection<User> findAll() {
-        return users.values();
+    public ResponseEntity<Collection<User>> findAll() {
+        CollectionVersion.Stamp version = userService.version();
+        return ETags.collection(version, userService.findAll());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<User> findById(@PathVariable int id) {
+        User user = userService.findById(id);
+        return ETags.entity(user.getVersion(), user);
+    }
+
+    /**
+     * Возвращает записи по списку id ({@code ?ids=1,2,3}); id, которых нет, перечислены в поле missing.
+     */
+    @GetMapping(params = {"ids", "!limit"})
+    public ResponseEntity<MultiGetResult<User>> findByIds(@RequestParam List<Integer> ids) {
+        Pages.validateIds(ids);
+        CollectionVersion.Stamp version = userService.version();
+        return ETags.collection(version, userService.findByIds(ids));
+    }
+
+    @GetMapping(params = "limit")
+    public ResponseEntity<List<User>> findPage(@RequestParam(defaultValue = "0") int after, @RequestParam int limit) {
+        Pages.validateLimit(limit);
+        CollectionVersion.Stamp version = userService.version();
+        List<User> page = userService.findPage(after, limit);
+        return Pages.page(page, limit, userService.count(), User::getId, version);
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Collection<User>> stream() {
+        CollectionVersion.Stamp version = userService.version();
+        return Pages.stream(userService.findAll(), userService.count(), version);
+    }
+
+    @GetMapping("/by-email/{email}")
+    public User findByEmail(@PathVariable String email) {
+        return userService.findByEmail(email);
+    }
+
+    @GetMapping("/by-login/{login}")
+    public User findByLogin(@PathVariable String login) {
+        return userService.findByLogin(login);
     }
 
     @PostMapping
     public User create(@RequestBody User user) {
-        if (user.getEmail() == null || user.getEmail().isBlank() || !user.getEmail().contains("@")) {
-            String message = "Электронная почта не может быть пустой и должна содержать символ @";
-            log.error("Failed to create user: {}", message);
-            throw new ValidationException(message);
-        }
-        if (user.getLogin() == null || user.getLogin().isBlank() || user.getLogin().contains(" ")) {
-            String message = "Логин не может быть пустым и содержать пробелы";
-            log.error("Failed to create user: {}", message);
-            throw new ValidationException(message);
-        }
-        if (user.getBirthday().isAfter(LocalDate.now())) {
-            String message = "Дата рождения не может быть в будущем";
-            log.error("Failed to create user: {}", message);
-            throw new ValidationException(message);
-        }
-        if (user.getName() == null || user.getName().isBlank()) {
-            log.debug("Имя пользователя пустое, в качестве имени будет использован логин: {}", user.getLogin());
-            user.setName(user.getLogin());
-        }
-        user.setId(getNextId());
-        users.put(user.getId(), user);
-        log.info("Пользователь добавлен: {}", user);
-        return user;
+        return userService.create(user);
     }
 
+    /**
+     * Обновляет пользователя. С заголовком If-Match обновление выполняется, только если текущая версия
+     * совпадает с одним из переданных ETag, иначе — 412.
+     */
     @PutMapping
-    public User update(@RequestBody User newUser) {
-        if (newUser.getId() <= 0) {
-            String message = "Id должен быть указан";
-            log.error("Ошибка при обновлении фильма: {}", message);
-            throw new ConditionsNotMetException(message);
-        }
-        if (users.containsKey(newUser.getId())) {
-            User oldUser = users.get(newUser.getId());
-            if (!newUser.getEmail().contains("@")) {
-                throw new ValidationException("Электронная почта должна содержать символ @");
-            }
-            if (newUser.getLogin().contains(" ")) {
-                throw new ValidationException("Логин не может содержать пробелы");
-            }
-            if (newUser.getBirthday().isAfter(LocalDate.now())) {
-                throw new ValidationException("Дата рождения не может быть в будущем");
-            }
-            if (newUser.getEmail() != null) {
-                oldUser.setEmail(newUser.getEmail());
-            }
-            if (newUser.getLogin() != null) {
-                oldUser.setLogin(newUser.getLogin());
-            }
-            if (newUser.getBirthday() != null) {
-                oldUser.setBirthday(newUser.getBirthday());
-            }
-            if (newUser.getName() != null) {
-                oldUser.setName(newUser.getName());
-            }
-            if (newUser.getName() == null || newUser.getName().isBlank()) {
-                oldUser.setName(newUser.getLogin());
-            }
-            log.info("Пользователь обновлён: {}", oldUser);
-            return oldUser;
-        }
-        log.error("Пользователь с id = {} не найден", newUser.getId());
-        throw new NotFoundException("Пользователь с id = " + newUser.getId() + " не найден");
+    public ResponseEntity<User> update(@RequestBody User newUser,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        User updated = userService.update(newUser, ETags.parseIfMatch(ifMatch));
+        return ETags.entity(updated.getVersion(), updated);
+    }
+
+    @PutMapping("/{id}/friends/{friendId}")
+    public void addFriend(@PathVariable int id, @PathVariable int friendId) {
+        userService.addFriend(id, friendId);
+    }
+
+    @DeleteMapping("/{id}/friends/{friendId}")
+    public void removeFriend(@PathVariable int id, @PathVariable int friendId) {
+        userService.removeFriend(id, friendId);
+    }
+
+    @GetMapping("/{id}/friends")
+    public List<User> findFriends(@PathVariable int id) {
+        return userService.findFriends(id);
     }
 
-    private int getNextId() {
-        int currentMaxId = users.keySet()
-                .stream()
-                .mapToInt(id -> id)
-                .max()
-                .orElse(0);
-        return ++currentMaxId;
+    @GetMapping("/{id}/friends/common/{otherId}")
+    public List<User> findCommonFriends(@PathVariable int id, @PathVariable int otherId) {
+        return userService.findCommonFriends(id, otherId);
     }
 }
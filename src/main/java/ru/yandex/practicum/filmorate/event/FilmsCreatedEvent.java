@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.event;
+
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.util.List;
+
+/**
+ * Пачка фильмов, созданная одним запросом; id фильмов идут подряд.
+ */
+public record FilmsCreatedEvent(List<Film> films) {
+}
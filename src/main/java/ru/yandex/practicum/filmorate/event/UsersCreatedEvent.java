@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.event;
+
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.List;
+
+/**
+ * Пачка пользователей, созданная одним запросом; id пользователей идут подряд.
+ */
+public record UsersCreatedEvent(List<User> users) {
+}
@@ -0,0 +1,7 @@
+package ru.yandex.practicum.filmorate.exception;
+
+public class OffsetExpiredException extends RuntimeException {
+    public OffsetExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package ru.yandex.practicum.filmorate.exception;
+
+/**
+ * Запрос отклонён ограничителем нагрузки. Как и {@link ValidationException}, создаётся без стека вызовов:
+ * под перегрузкой таких исключений много, а стек ничего не говорит о причине.
+ */
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,7 +1,34 @@
 package ru.yandex.practicum.filmorate.exception;
 
+import ru.yandex.practicum.filmorate.validation.Violations;
+
+/**
+ * Ошибка входных данных. Стек вызовов не заполняется: исключение описывает некорректный запрос,
+ * а не сбой, и под потоком плохих запросов захват стека был бы основной статьёй расходов.
+ */
 public class ValidationException extends RuntimeException {
+
+    private final Violations violations;
+
     public ValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.violations = null;
+    }
+
+    public ValidationException(Violations violations) {
+        super(null, null, false, false);
+        this.violations = violations;
+    }
+
+    /**
+     * Нарушения по полям или {@code null}, если ошибка не связана с конкретными полями.
+     */
+    public Violations getViolations() {
+        return violations;
+    }
+
+    @Override
+    public String getMessage() {
+        return violations == null ? super.getMessage() : violations.message();
     }
 }
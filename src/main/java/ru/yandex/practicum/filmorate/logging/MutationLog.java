@@ -0,0 +1,266 @@
+package ru.yandex.practicum.filmorate.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Асинхронный журнал изменений сущностей. Записывает тип сущности, операцию, id, версию и маску
+ * изменённых полей в кольцевой буфер заранее выделенных слотов; отдельный поток разбирает буфер
+ * порциями и пишет структурированные записи в логгер {@code filmorate.mutations}.
+ *
+ * <p>Запись со стороны запроса не выделяет памяти и не форматирует строк. Объём памяти ограничен
+ * ёмкостью буфера; при переполнении событие отбрасывается ({@link Overflow#DROP}) или поток запроса
+ * ждёт освобождения места ({@link Overflow#BLOCK}).
+ */
+@Component
+@Slf4j(topic = "filmorate.mutations")
+public class MutationLog {
+
+    public enum Overflow {
+        DROP,
+        BLOCK
+    }
+
+    /**
+     * Получатель разобранных событий; вызывается только из потока журнала.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void write(String entity, String operation, int id, long version, String[] fields, int changed);
+    }
+
+    private static final int BATCH_SIZE = 256;
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final Slot[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final Overflow overflow;
+    private final Sink sink;
+    private final Counter dropped;
+    private volatile long head;
+    private volatile boolean running;
+    private volatile boolean idle;
+    private volatile Thread consumer;
+
+    @Autowired
+    public MutationLog(@Value("${filmorate.logging.mutations.capacity:8192}") int capacity,
+                       @Value("${filmorate.logging.mutations.overflow:drop}") Overflow overflow,
+                       MeterRegistry meterRegistry) {
+        this(capacity, overflow, meterRegistry, MutationLog::log);
+    }
+
+    public MutationLog(int capacity, Overflow overflow, MeterRegistry meterRegistry, Sink sink) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Ёмкость журнала изменений должна быть положительной: " + capacity);
+        }
+        // по последовательностям слотов буфер из одного слота не отличает заполненный от пустого
+        int size = Math.max(2, Integer.highestOneBit(capacity));
+        size = size >= capacity ? size : size << 1;
+        this.slots = new Slot[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.overflow = overflow;
+        this.sink = sink;
+        this.dropped = Counter.builder("filmorate.mutations.dropped")
+                .description("События журнала изменений, отброшенные при переполнении буфера")
+                .register(meterRegistry);
+        Gauge.builder("filmorate.mutations.pending", this, MutationLog::pending)
+                .description("События журнала изменений, ожидающие записи")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Журнал без потока разбора: события копятся до заполнения буфера и затем отбрасываются.
+     * Для тестов и бенчмарков, которым журнал не нужен.
+     */
+    public static MutationLog disabled() {
+        return new MutationLog(1, Overflow.DROP, new SimpleMeterRegistry(),
+                (entity, operation, id, version, fields, changed) -> { });
+    }
+
+    @PostConstruct
+    public synchronized void start() {
+        if (consumer != null) {
+            return;
+        }
+        running = true;
+        consumer = Thread.ofPlatform()
+                .name("filmorate-mutation-log")
+                .daemon(true)
+                .start(this::drainLoop);
+    }
+
+    /**
+     * Останавливает поток разбора, дописав накопленные события.
+     */
+    @PreDestroy
+    public synchronized void close() throws InterruptedException {
+        Thread thread = consumer;
+        if (thread == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(5));
+        consumer = null;
+    }
+
+    /**
+     * Ставит событие в очередь.
+     *
+     * @param fields  имена полей сущности, общий неизменяемый массив
+     * @param changed маска изменённых полей: бит {@code i} соответствует {@code fields[i]}
+     * @return {@code false}, если событие отброшено
+     */
+    public boolean record(String entity, String operation, int id, long version, String[] fields, int changed) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    slots[index].set(entity, operation, id, version, fields, changed);
+                    sequences.set(index, position + 1);
+                    if (idle) {
+                        LockSupport.unpark(consumer);
+                    }
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                if (overflow == Overflow.DROP || !running) {
+                    dropped.increment();
+                    return false;
+                }
+                LockSupport.parkNanos(FULL_PARK_NANOS);
+                position = tail.get();
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    public long dropped() {
+        return (long) dropped.count();
+    }
+
+    int pending() {
+        return (int) (tail.get() - head);
+    }
+
+    /**
+     * Пустой буфер поток ждёт без опроса: выставляет {@code idle}, перепроверяет буфер и засыпает, а запись
+     * будит его, если видит флаг. Флаг и последовательность слота волатильны, поэтому событие, записанное
+     * между проверкой и засыпанием, не теряется: либо поток увидит слот, либо запись увидит флаг.
+     */
+    private void drainLoop() {
+        while (running) {
+            if (drain() > 0) {
+                continue;
+            }
+            idle = true;
+            if (running && !ready()) {
+                LockSupport.park(this);
+            }
+            idle = false;
+        }
+        while (drain() > 0) {
+            // дописываем события, поставленные до остановки
+        }
+    }
+
+    private boolean ready() {
+        return sequences.get((int) head & mask) == head + 1;
+    }
+
+    private int drain() {
+        int drained = 0;
+        while (drained < BATCH_SIZE) {
+            int index = (int) head & mask;
+            if (sequences.get(index) != head + 1) {
+                break;
+            }
+            Slot slot = slots[index];
+            try {
+                sink.write(slot.entity, slot.operation, slot.id, slot.version, slot.fields, slot.changed);
+            } catch (RuntimeException e) {
+                log.warn("Не удалось записать событие журнала изменений", e);
+            }
+            slot.clear();
+            sequences.set(index, head + slots.length);
+            head++;
+            drained++;
+        }
+        return drained;
+    }
+
+    private static void log(String entity, String operation, int id, long version, String[] fields, int changed) {
+        if (!log.isInfoEnabled()) {
+            return;
+        }
+        String changedFields = describe(fields, changed);
+        log.atInfo()
+                .addKeyValue("entity", entity)
+                .addKeyValue("operation", operation)
+                .addKeyValue("id", id)
+                .addKeyValue("version", version)
+                .addKeyValue("fields", changedFields)
+                .log("{} {}: id={}, version={}, fields={}", entity, operation, id, version, changedFields);
+    }
+
+    static String describe(String[] fields, int changed) {
+        StringBuilder result = new StringBuilder("[");
+        for (int i = 0; i < fields.length; i++) {
+            if ((changed & 1 << i) != 0) {
+                if (result.length() > 1) {
+                    result.append(',');
+                }
+                result.append(fields[i]);
+            }
+        }
+        return result.append(']').toString();
+    }
+
+    private static final class Slot {
+        private String entity;
+        private String operation;
+        private int id;
+        private long version;
+        private String[] fields;
+        private int changed;
+
+        void set(String entity, String operation, int id, long version, String[] fields, int changed) {
+            this.entity = entity;
+            this.operation = operation;
+            this.id = id;
+            this.version = version;
+            this.fields = fields;
+            this.changed = changed;
+        }
+
+        void clear() {
+            entity = null;
+            operation = null;
+            fields = null;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package ru.yandex.practicum.filmorate.model;
+
+import java.util.List;
+
+public record BatchResult(int created, Integer firstId, Integer lastId, List<BatchItemError> errors) {
+
+    public static BatchResult rejected(List<BatchItemError> errors) {
+        return new BatchResult(0, null, null, errors);
+    }
+
+    public boolean isSuccessful() {
+        return errors.isEmpty();
+    }
+}
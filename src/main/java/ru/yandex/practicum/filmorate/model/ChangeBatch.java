@@ -0,0 +1,9 @@
+package ru.yandex.practicum.filmorate.model;
+
+import java.util.List;
+
+/**
+ * Порция событий журнала изменений; следующую порцию нужно запрашивать с {@code nextOffset}.
+ */
+public record ChangeBatch(List<ChangeEvent> events, long nextOffset) {
+}
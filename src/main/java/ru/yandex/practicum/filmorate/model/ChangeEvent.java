@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.model;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+/**
+ * Событие журнала изменений: порядковый номер, тип сущности, операция, id и версия сущности
+ * и её JSON на момент изменения.
+ */
+public record ChangeEvent(long offset, String entity, String operation, int id, long version,
+                          @JsonRawValue String data) {
+}
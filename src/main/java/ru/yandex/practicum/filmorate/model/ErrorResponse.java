@@ -0,0 +1,13 @@
+package ru.yandex.practicum.filmorate.model;
+
+import java.util.List;
+
+/**
+ * Тело ответа об ошибке: общее сообщение и, для ошибок валидации, нарушения по полям.
+ */
+public record ErrorResponse(String error, List<FieldViolation> errors) {
+
+    public static ErrorResponse of(String error) {
+        return new ErrorResponse(error, List.of());
+    }
+}
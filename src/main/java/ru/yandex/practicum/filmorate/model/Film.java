@@ -10,8 +10,9 @@ import java.time.LocalDate;
 
 @Data
 @Builder
-public class Film {
+public class Film implements Versioned {
     private int id;
+    private long version;
     private String name;
     private String description;
     private LocalDate releaseDate;
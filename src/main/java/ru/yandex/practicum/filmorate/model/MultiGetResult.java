@@ -0,0 +1,41 @@
+package ru.yandex.practicum.filmorate.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Результат выборки по списку id: найденные записи в порядке запроса и id, которых нет в хранилище.
+ */
+public record MultiGetResult<T>(List<T> items, List<Integer> missing) {
+
+    /**
+     * Находит записи по списку id одним вызовом {@code lookup}. Повторы в запросе игнорируются,
+     * найденные записи возвращаются в порядке запроса, отсутствующие id — отдельным списком.
+     */
+    public static <T> MultiGetResult<T> resolve(List<Integer> ids, Function<Collection<Integer>, List<T>> lookup,
+                                                ToIntFunction<T> getId) {
+        Set<Integer> requested = new LinkedHashSet<>(ids);
+        Map<Integer, T> found = new HashMap<>();
+        for (T item : lookup.apply(requested)) {
+            found.put(getId.applyAsInt(item), item);
+        }
+        List<T> items = new ArrayList<>(found.size());
+        List<Integer> missing = new ArrayList<>();
+        for (int id : requested) {
+            T item = found.get(id);
+            if (item == null) {
+                missing.add(id);
+            } else {
+                items.add(item);
+            }
+        }
+        return new MultiGetResult<>(items, missing);
+    }
+}
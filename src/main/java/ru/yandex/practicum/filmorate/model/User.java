@@ -7,8 +7,9 @@ import java.time.LocalDate;
 
 @Data
 @Builder
-public class User {
+public class User implements Versioned {
     private int id;
+    private long version;
     private String email;
     private String login;
     private String name;
@@ -0,0 +1,11 @@
+package ru.yandex.practicum.filmorate.model;
+
+/**
+ * Сущность с id и версией, которая увеличивается при каждом изменении.
+ */
+public interface Versioned {
+
+    int getId();
+
+    long getVersion();
+}
@@ -0,0 +1,104 @@
+package ru.yandex.practicum.filmorate.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.exception.TooManyRequestsException;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+/**
+ * Допуск изменяющих запросов: ограничение частоты по клиенту и числа одновременных запросов к каждой
+ * точке API. Общий для сервлетного API ({@link AdmissionInterceptor}) и реактивного, поэтому оба порта
+ * делят одни корзины клиентов и одни лимиты точек. Отказ отвечается 429 с заголовком Retry-After.
+ * Клиент определяется по адресу соединения. Заголовок {@code filmorate.rate-limit.client-header} учитывается,
+ * только если запрос пришёл с адреса из {@code filmorate.rate-limit.trusted-proxies}: иначе клиент, меняя
+ * значение заголовка, обходил бы ограничение и вытеснял из кеша состояние настоящих клиентов.
+ * Нулевая частота или нулевой лимит отключают соответствующее ограничение.
+ */
+@Component
+@Slf4j
+public class AdmissionControl {
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final TokenBucketLimiter rateLimiter;
+    private final ConcurrencyLimiter concurrencyLimiter;
+    private final String clientHeader;
+    private final Set<String> trustedProxies;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    public AdmissionControl(@Value("${filmorate.rate-limit.rate:100}") double ratePerSecond,
+                            @Value("${filmorate.rate-limit.burst:200}") int burst,
+                            @Value("${filmorate.rate-limit.max-clients:100000}") long maxClients,
+                            @Value("${filmorate.rate-limit.client-header:}") String clientHeader,
+                            @Value("${filmorate.rate-limit.trusted-proxies:}") Set<String> trustedProxies,
+                            @Value("${filmorate.admission.max-concurrent:64}") int maxConcurrent,
+                            MeterRegistry meterRegistry) {
+        this.rateLimiter = ratePerSecond > 0 ? new TokenBucketLimiter(ratePerSecond, burst, maxClients) : null;
+        this.concurrencyLimiter = maxConcurrent > 0 ? new ConcurrencyLimiter(maxConcurrent) : null;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Допускает запрос или отклоняет его {@link TooManyRequestsException}.
+     *
+     * @param address адрес соединения
+     * @param headers значение заголовка запроса по имени
+     * @return точка API, разрешение которой нужно вернуть через {@link #release}, или {@code null}
+     */
+    public String admit(String method, String endpoint, String address, UnaryOperator<String> headers) {
+        if (!WRITE_METHODS.contains(method)) {
+            return null;
+        }
+        if (rateLimiter != null) {
+            long wait = rateLimiter.tryAcquire(client(address, headers));
+            if (wait > 0) {
+                rejected("rate", endpoint);
+                throw new TooManyRequestsException("Превышена частота запросов клиента",
+                        Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1)));
+            }
+        }
+        if (concurrencyLimiter == null) {
+            return null;
+        }
+        if (!concurrencyLimiter.tryAcquire(endpoint)) {
+            rejected("concurrency", endpoint);
+            throw new TooManyRequestsException("Слишком много одновременных запросов к " + endpoint, 1);
+        }
+        return endpoint;
+    }
+
+    public void release(String permit) {
+        if (permit != null) {
+            concurrencyLimiter.release(permit);
+        }
+    }
+
+    private String client(String address, UnaryOperator<String> headers) {
+        if (clientHeader.isBlank() || !trustedProxies.contains(address)) {
+            return address;
+        }
+        String client = headers.apply(clientHeader);
+        return client == null || client.isBlank() ? address : client;
+    }
+
+    private void rejected(String reason, String endpoint) {
+        log.debug("Запрос к {} отклонён: {}", endpoint, reason);
+        rejections.computeIfAbsent(reason + ' ' + endpoint, key -> Counter.builder("filmorate.admission.rejected")
+                        .description("Запросы, отклонённые ограничителями нагрузки")
+                        .tag("reason", reason)
+                        .tag("endpoint", endpoint)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
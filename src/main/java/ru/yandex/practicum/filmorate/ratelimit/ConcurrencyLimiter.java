@@ -0,0 +1,47 @@
+package ru.yandex.practicum.filmorate.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ограничивает число одновременно выполняющихся запросов к каждой точке API. Счётчик точки меняется
+ * через compare-and-set, лишний запрос сразу получает отказ и не ждёт в очереди.
+ */
+public class ConcurrencyLimiter {
+
+    private final int limit;
+    private final Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimiter(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Лимит одновременных запросов должен быть положительным: " + limit);
+        }
+        this.limit = limit;
+    }
+
+    public boolean tryAcquire(String endpoint) {
+        AtomicInteger counter = inFlight.computeIfAbsent(endpoint, key -> new AtomicInteger());
+        while (true) {
+            int current = counter.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(String endpoint) {
+        AtomicInteger counter = inFlight.get(endpoint);
+        if (counter != null) {
+            counter.decrementAndGet();
+        }
+    }
+
+    public int inFlight(String endpoint) {
+        AtomicInteger counter = inFlight.get(endpoint);
+        return counter == null ? 0 : counter.get();
+    }
+}
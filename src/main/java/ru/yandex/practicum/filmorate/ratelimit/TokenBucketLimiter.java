@@ -0,0 +1,70 @@
+package ru.yandex.practicum.filmorate.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Ограничитель частоты запросов по клиентам: корзина с {@code burst} жетонами, которые восполняются
+ * со скоростью {@code ratePerSecond}. Состояние клиента — одно число, теоретическое время прихода
+ * следующего запроса (GCRA), и обновляется одной операцией compare-and-set без блокировок.
+ *
+ * <p>Клиенты хранятся в ограниченном по размеру кеше. Запись вытесняется, если клиент молчал дольше,
+ * чем нужно для полного восполнения корзины: к этому моменту её состояние совпадает с начальным.
+ * При переполнении кеша вытесняются и активные клиенты, и их корзины начинаются заново, поэтому ключ
+ * клиента не должен выбираться самим клиентом.
+ */
+public class TokenBucketLimiter {
+
+    private final long emissionInterval;
+    private final long capacity;
+    private final LongSupplier clock;
+    private final Cache<String, AtomicLong> buckets;
+
+    public TokenBucketLimiter(double ratePerSecond, int burst, long maxClients) {
+        this(ratePerSecond, burst, maxClients, System::nanoTime);
+    }
+
+    TokenBucketLimiter(double ratePerSecond, int burst, long maxClients, LongSupplier clock) {
+        if (ratePerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("Частота и размер корзины должны быть положительными");
+        }
+        this.emissionInterval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.capacity = emissionInterval * burst;
+        this.clock = clock;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(capacity))
+                .build();
+    }
+
+    /**
+     * Забирает жетон клиента.
+     *
+     * @return 0, если жетон выдан, иначе сколько наносекунд ждать следующего
+     */
+    public long tryAcquire(String client) {
+        long now = clock.getAsLong();
+        AtomicLong arrival = buckets.get(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionInterval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    long clients() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+import ru.yandex.practicum.filmorate.exception.TooManyRequestsException;
+import ru.yandex.practicum.filmorate.ratelimit.AdmissionControl;
+
+import java.net.InetSocketAddress;
+
+/**
+ * {@link AdmissionControl} для реактивного API: те же корзины клиентов и лимиты точек, что и у сервлетного.
+ * Разрешение берётся при подписке на ответ и возвращается, когда ответ сформирован или отменён.
+ */
+final class AdmissionFilter implements HandlerFilterFunction<ServerResponse, ServerResponse> {
+
+    private final AdmissionControl admissionControl;
+
+    AdmissionFilter(AdmissionControl admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public Mono<ServerResponse> filter(ServerRequest request, HandlerFunction<ServerResponse> next) {
+        return Mono.defer(() -> {
+            String permit;
+            try {
+                permit = admissionControl.admit(request.method().name(), endpoint(request), address(request),
+                        name -> request.headers().firstHeader(name));
+            } catch (TooManyRequestsException e) {
+                return ReactiveErrors.toResponse(e);
+            }
+            Mono<ServerResponse> response = Mono.defer(() -> next.handle(request));
+            return permit == null ? response : response.doFinally(signal -> admissionControl.release(permit));
+        });
+    }
+
+    private static String endpoint(ServerRequest request) {
+        String pattern = request.attribute(RouterFunctions.MATCHING_PATTERN_ATTRIBUTE)
+                .map(value -> ((PathPattern) value).getPatternString())
+                .orElse(request.path());
+        return request.method().name() + " " + pattern;
+    }
+
+    private static String address(ServerRequest request) {
+        return request.remoteAddress()
+                .map(AdmissionFilter::hostAddress)
+                .orElse("");
+    }
+
+    private static String hostAddress(InetSocketAddress address) {
+        return address.getAddress() != null ? address.getAddress().getHostAddress() : address.getHostString();
+    }
+}
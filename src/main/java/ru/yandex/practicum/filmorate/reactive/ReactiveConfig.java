@@ -0,0 +1,100 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.ratelimit.AdmissionControl;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.reactive.BlockingStorageAdapter;
+import ru.yandex.practicum.filmorate.storage.reactive.ReactiveStorage;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+
+/**
+ * Реактивный вариант API фильмов и пользователей на WebFlux. Включается свойством
+ * {@code filmorate.reactive.enabled} и слушает порт {@code filmorate.reactive.port}. Изменяющие запросы
+ * проходят тот же {@link AdmissionControl}, что и в сервлетном API.
+ */
+@Configuration
+@ConditionalOnProperty(name = "filmorate.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+    @Bean
+    ReactiveStorage<Film> reactiveFilmStorage(FilmStorage filmStorage,
+                                              @Value("${filmorate.storage.type:memory}") String storageType) {
+        return new BlockingStorageAdapter<>(filmStorage::findPage, filmStorage::findById, filmStorage::size,
+                storageScheduler(storageType));
+    }
+
+    @Bean
+    ReactiveStorage<User> reactiveUserStorage(UserStorage userStorage,
+                                              @Value("${filmorate.storage.type:memory}") String storageType) {
+        return new BlockingStorageAdapter<>(userStorage::findPage, userStorage::findById, userStorage::size,
+                storageScheduler(storageType));
+    }
+
+    @Bean
+    ReactiveServer reactiveServer(FilmService filmService, UserService userService,
+                                  ReactiveStorage<Film> reactiveFilmStorage, ReactiveStorage<User> reactiveUserStorage,
+                                  AdmissionControl admissionControl, ObjectMapper objectMapper,
+                                  @Value("${filmorate.reactive.port:8081}") int port) {
+        Scheduler scheduler = Schedulers.boundedElastic();
+        RouterFunction<ServerResponse> routes = routes(
+                new ReactiveFilmHandler(filmService, reactiveFilmStorage, scheduler),
+                new ReactiveUserHandler(userService, reactiveUserStorage, scheduler),
+                new AdmissionFilter(admissionControl));
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        return new ReactiveServer(RouterFunctions.toHttpHandler(routes, strategies), port);
+    }
+
+    static RouterFunction<ServerResponse> routes(ReactiveFilmHandler films, ReactiveUserHandler users,
+                                                 AdmissionFilter admission) {
+        return RouterFunctions.route()
+                .GET("/films", films::findAll)
+                .POST("/films", films::create)
+                .PUT("/films", films::update)
+                .GET("/films/popular", films::findPopular)
+                .GET("/films/{id:\\d+}", films::findById)
+                .PUT("/films/{id}/like/{userId}", films::addLike)
+                .DELETE("/films/{id}/like/{userId}", films::removeLike)
+                .GET("/users", users::findAll)
+                .POST("/users", users::create)
+                .PUT("/users", users::update)
+                .GET("/users/{id:\\d+}", users::findById)
+                .PUT("/users/{id}/friends/{friendId}", users::addFriend)
+                .DELETE("/users/{id}/friends/{friendId}", users::removeFriend)
+                .GET("/users/{id}/friends", users::findFriends)
+                .GET("/users/{id}/friends/common/{otherId}", users::findCommonFriends)
+                .filter(admission)
+                .onError(Throwable.class, (error, request) -> ReactiveErrors.toResponse(error))
+                .build();
+    }
+
+    /**
+     * Планировщик чтения через {@link BlockingStorageAdapter}. Чтение из карты в памяти не блокируется
+     * и выполняется прямо в цикле событий; JDBC и журнал уходят на пул для блокирующих операций.
+     * Вызовы сервисов из обработчиков всегда идут на {@code boundedElastic}: запись ждёт fsync журнала
+     * и блокировки сущности, а валидация и рассылка событий не должны занимать цикл событий.
+     */
+    private static Scheduler storageScheduler(String storageType) {
+        return "memory".equals(storageType) ? Schedulers.immediate() : Schedulers.boundedElastic();
+    }
+}
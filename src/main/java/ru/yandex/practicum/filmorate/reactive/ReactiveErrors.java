@@ -0,0 +1,46 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import ru.yandex.practicum.filmorate.controller.ErrorHandler;
+import ru.yandex.practicum.filmorate.exception.ConditionsNotMetException;
+import ru.yandex.practicum.filmorate.exception.DuplicateException;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.exception.PreconditionFailedException;
+import ru.yandex.practicum.filmorate.exception.TooManyRequestsException;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.ErrorResponse;
+
+/**
+ * Переводит исключения сервисов в ответы с теми же статусами и телом, что и {@link ErrorHandler}.
+ */
+final class ReactiveErrors {
+
+    private static final ErrorHandler ERROR_HANDLER = new ErrorHandler();
+
+    private ReactiveErrors() {
+    }
+
+    static Mono<ServerResponse> toResponse(Throwable error) {
+        return switch (error) {
+            case ValidationException e -> respond(HttpStatus.BAD_REQUEST, ERROR_HANDLER.handleValidation(e));
+            case ConditionsNotMetException e -> respond(HttpStatus.BAD_REQUEST, ErrorResponse.of(e.getMessage()));
+            case ServerWebInputException e -> respond(HttpStatus.BAD_REQUEST, ErrorResponse.of(e.getReason()));
+            case NotFoundException e -> respond(HttpStatus.NOT_FOUND, ErrorResponse.of(e.getMessage()));
+            case DuplicateException e -> respond(HttpStatus.CONFLICT, ErrorResponse.of(e.getMessage()));
+            case PreconditionFailedException e -> respond(HttpStatus.PRECONDITION_FAILED,
+                    ErrorResponse.of(e.getMessage()));
+            case TooManyRequestsException e -> ServerResponse.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                    .bodyValue(ErrorResponse.of(e.getMessage()));
+            default -> Mono.error(error);
+        };
+    }
+
+    private static Mono<ServerResponse> respond(HttpStatus status, ErrorResponse body) {
+        return ServerResponse.status(status).bodyValue(body);
+    }
+}
@@ -0,0 +1,73 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.storage.reactive.ReactiveStorage;
+
+/**
+ * Обработчики {@code /films} реактивного API. Чтение идёт через {@link ReactiveStorage},
+ * изменения — через {@link FilmService} на пуле для блокирующих операций, чтобы валидация, версии
+ * и события были теми же, что и в {@code FilmController}.
+ */
+class ReactiveFilmHandler {
+
+    private final FilmService filmService;
+    private final ReactiveStorage<Film> films;
+    private final Scheduler scheduler;
+
+    ReactiveFilmHandler(FilmService filmService, ReactiveStorage<Film> films, Scheduler scheduler) {
+        this.filmService = filmService;
+        this.films = films;
+        this.scheduler = scheduler;
+    }
+
+    Mono<ServerResponse> findAll(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(Streams.contentType(request))
+                .body(films.findAll(), Film.class);
+    }
+
+    Mono<ServerResponse> findById(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        return films.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Фильм с id = " + id + " не найден")))
+                .flatMap(film -> ServerResponse.ok().bodyValue(film));
+    }
+
+    Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(Film.class)
+                .flatMap(film -> Streams.call(scheduler, () -> filmService.create(film)))
+                .flatMap(film -> ServerResponse.ok().bodyValue(film));
+    }
+
+    Mono<ServerResponse> update(ServerRequest request) {
+        return request.bodyToMono(Film.class)
+                .flatMap(film -> Streams.call(scheduler, () -> filmService.update(film)))
+                .flatMap(film -> ServerResponse.ok().bodyValue(film));
+    }
+
+    Mono<ServerResponse> addLike(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        int userId = Streams.intPathVariable(request, "userId");
+        return Streams.run(scheduler, () -> filmService.addLike(id, userId))
+                .then(ServerResponse.ok().build());
+    }
+
+    Mono<ServerResponse> removeLike(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        int userId = Streams.intPathVariable(request, "userId");
+        return Streams.run(scheduler, () -> filmService.removeLike(id, userId))
+                .then(ServerResponse.ok().build());
+    }
+
+    Mono<ServerResponse> findPopular(ServerRequest request) {
+        int count = request.queryParam("count").map(Streams::parseInt).orElse(10);
+        return Streams.call(scheduler, () -> filmService.findPopular(count))
+                .flatMap(popular -> ServerResponse.ok().bodyValue(popular));
+    }
+}
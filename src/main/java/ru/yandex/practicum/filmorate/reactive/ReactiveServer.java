@@ -0,0 +1,59 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Отдельный сервер Reactor Netty для реактивного API. Работает рядом с основным сервлетным сервером
+ * на своём порту; соединения обслуживаются небольшим числом потоков цикла событий.
+ */
+@Slf4j
+public class ReactiveServer implements SmartLifecycle {
+
+    private final HttpHandler httpHandler;
+    private final int port;
+    private volatile DisposableServer server;
+
+    ReactiveServer(HttpHandler httpHandler, int port) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+    }
+
+    @Override
+    public void start() {
+        server = HttpServer.create()
+                .port(port)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("Реактивный API запущен на порту {}", server.port());
+    }
+
+    @Override
+    public void stop() {
+        DisposableServer current = server;
+        if (current != null) {
+            current.disposeNow();
+            server = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Фактический порт; отличается от настроенного, если задан порт 0.
+     */
+    public int port() {
+        DisposableServer current = server;
+        if (current == null) {
+            throw new IllegalStateException("Реактивный сервер не запущен");
+        }
+        return current.port();
+    }
+}
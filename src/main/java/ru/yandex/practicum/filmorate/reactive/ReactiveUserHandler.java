@@ -0,0 +1,78 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.storage.reactive.ReactiveStorage;
+
+/**
+ * Обработчики {@code /users} реактивного API; изменения идут через {@link UserService}, как в {@code UserController}.
+ */
+class ReactiveUserHandler {
+
+    private final UserService userService;
+    private final ReactiveStorage<User> users;
+    private final Scheduler scheduler;
+
+    ReactiveUserHandler(UserService userService, ReactiveStorage<User> users, Scheduler scheduler) {
+        this.userService = userService;
+        this.users = users;
+        this.scheduler = scheduler;
+    }
+
+    Mono<ServerResponse> findAll(ServerRequest request) {
+        return ServerResponse.ok()
+                .contentType(Streams.contentType(request))
+                .body(users.findAll(), User.class);
+    }
+
+    Mono<ServerResponse> findById(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        return users.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NotFoundException("Пользователь с id = " + id + " не найден")))
+                .flatMap(user -> ServerResponse.ok().bodyValue(user));
+    }
+
+    Mono<ServerResponse> create(ServerRequest request) {
+        return request.bodyToMono(User.class)
+                .flatMap(user -> Streams.call(scheduler, () -> userService.create(user)))
+                .flatMap(user -> ServerResponse.ok().bodyValue(user));
+    }
+
+    Mono<ServerResponse> update(ServerRequest request) {
+        return request.bodyToMono(User.class)
+                .flatMap(user -> Streams.call(scheduler, () -> userService.update(user)))
+                .flatMap(user -> ServerResponse.ok().bodyValue(user));
+    }
+
+    Mono<ServerResponse> addFriend(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        int friendId = Streams.intPathVariable(request, "friendId");
+        return Streams.run(scheduler, () -> userService.addFriend(id, friendId))
+                .then(ServerResponse.ok().build());
+    }
+
+    Mono<ServerResponse> removeFriend(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        int friendId = Streams.intPathVariable(request, "friendId");
+        return Streams.run(scheduler, () -> userService.removeFriend(id, friendId))
+                .then(ServerResponse.ok().build());
+    }
+
+    Mono<ServerResponse> findFriends(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        return Streams.call(scheduler, () -> userService.findFriends(id))
+                .flatMap(friends -> ServerResponse.ok().bodyValue(friends));
+    }
+
+    Mono<ServerResponse> findCommonFriends(ServerRequest request) {
+        int id = Streams.intPathVariable(request, "id");
+        int otherId = Streams.intPathVariable(request, "otherId");
+        return Streams.call(scheduler, () -> userService.findCommonFriends(id, otherId))
+                .flatMap(friends -> ServerResponse.ok().bodyValue(friends));
+    }
+}
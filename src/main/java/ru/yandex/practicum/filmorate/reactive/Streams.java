@@ -0,0 +1,50 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Общие помощники обработчиков реактивного API.
+ */
+final class Streams {
+
+    private Streams() {
+    }
+
+    /**
+     * NDJSON, если клиент его принимает, иначе JSON-массив. Оба формата пишутся по мере поступления элементов.
+     */
+    static MediaType contentType(ServerRequest request) {
+        for (MediaType accepted : request.headers().accept()) {
+            if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(accepted)) {
+                return MediaType.APPLICATION_NDJSON;
+            }
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    static <T> Mono<T> call(Scheduler scheduler, Callable<T> call) {
+        return Mono.fromCallable(call).subscribeOn(scheduler);
+    }
+
+    static Mono<Void> run(Scheduler scheduler, Runnable action) {
+        return Mono.fromRunnable(action).subscribeOn(scheduler).then();
+    }
+
+    static int intPathVariable(ServerRequest request, String name) {
+        return parseInt(request.pathVariable(name));
+    }
+
+    static int parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ServerWebInputException("Ожидалось целое число: " + value);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package ru.yandex.practicum.filmorate.search;
+
+import ru.yandex.practicum.filmorate.storage.StripedLock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Инвертированный индекс: терм → (id документа → вес терма в документе).
+ * Словарь хранится отсортированным, поэтому префиксный поиск — это диапазон словаря.
+ * Для каждого документа хранится его прошлый набор термов, и переиндексация меняет только
+ * изменившиеся списки документов.
+ */
+public class InvertedIndex {
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 512;
+    private static final double PREFIX_BOOST = 0.5;
+    private static final Comparator<Map.Entry<Integer, Double>> RANK_ORDER =
+            Map.Entry.<Integer, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey());
+
+    private final Map<String, Map<Integer, Integer>> postings = new ConcurrentHashMap<>();
+    private final NavigableSet<String> terms = new ConcurrentSkipListSet<>();
+    private final Map<Integer, Map<String, Integer>> documents = new ConcurrentHashMap<>();
+    private final StripedLock locks = new StripedLock();
+
+    public void index(int documentId, Map<String, Integer> termWeights) {
+        Map<String, Integer> weights = Map.copyOf(termWeights);
+        locks.withLock(documentId, () -> {
+            Map<String, Integer> previous = documents.put(documentId, weights);
+            if (previous != null) {
+                previous.keySet()
+                        .stream()
+                        .filter(term -> !weights.containsKey(term))
+                        .forEach(term -> removePosting(term, documentId));
+            }
+            weights.forEach((term, weight) -> {
+                if (previous == null || !Objects.equals(previous.get(term), weight)) {
+                    addPosting(term, documentId, weight);
+                }
+            });
+            return null;
+        });
+    }
+
+    /**
+     * Возвращает id документов, содержащих все термы запроса, по убыванию релевантности.
+     * Каждый терм запроса ищется и как слово целиком, и как префикс; полное совпадение весит больше.
+     */
+    public List<Integer> search(List<String> queryTerms, int limit) {
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+        int documentCount = Math.max(documents.size(), 1);
+        List<Map<Integer, Double>> matches = new ArrayList<>(queryTerms.size());
+        for (String term : queryTerms) {
+            Map<Integer, Double> scores = match(term, documentCount);
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+            matches.add(scores);
+        }
+        matches.sort(Comparator.comparingInt(Map::size));
+        Map<Integer, Double> result = matches.getFirst();
+        for (Map<Integer, Double> next : matches.subList(1, matches.size())) {
+            result.entrySet().removeIf(entry -> {
+                Double score = next.get(entry.getKey());
+                if (score == null) {
+                    return true;
+                }
+                entry.setValue(entry.getValue() + score);
+                return false;
+            });
+        }
+        return top(result, limit);
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    private Map<Integer, Double> match(String term, int documentCount) {
+        Collection<String> candidates = term.length() < MIN_PREFIX_LENGTH
+                ? List.of(term)
+                : terms.subSet(term, true, term + Character.MAX_VALUE, false);
+        Map<Integer, Double> scores = new HashMap<>();
+        int expanded = 0;
+        for (String candidate : candidates) {
+            if (expanded++ == MAX_PREFIX_EXPANSIONS) {
+                break;
+            }
+            Map<Integer, Integer> documentWeights = postings.get(candidate);
+            if (documentWeights == null) {
+                continue;
+            }
+            double boost = candidate.length() == term.length() ? 1.0 : PREFIX_BOOST;
+            double idf = Math.log(1 + (double) documentCount / documentWeights.size());
+            documentWeights.forEach((documentId, weight) ->
+                    scores.merge(documentId, boost * idf * weight, Math::max));
+        }
+        return scores;
+    }
+
+    private static List<Integer> top(Map<Integer, Double> scores, int limit) {
+        PriorityQueue<Map.Entry<Integer, Double>> heap = new PriorityQueue<>(RANK_ORDER.reversed());
+        for (Map.Entry<Integer, Double> entry : scores.entrySet()) {
+            heap.add(entry);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Integer, Double>> ranked = new ArrayList<>(heap);
+        ranked.sort(RANK_ORDER);
+        return ranked.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void addPosting(String term, int documentId, int weight) {
+        postings.compute(term, (key, documentWeights) -> {
+            if (documentWeights == null) {
+                documentWeights = new ConcurrentHashMap<>();
+                terms.add(term);
+            }
+            documentWeights.put(documentId, weight);
+            return documentWeights;
+        });
+    }
+
+    private void removePosting(String term, int documentId) {
+        postings.computeIfPresent(term, (key, documentWeights) -> {
+            documentWeights.remove(documentId);
+            if (documentWeights.isEmpty()) {
+                terms.remove(term);
+                return null;
+            }
+            return documentWeights;
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package ru.yandex.practicum.filmorate.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Разбивает русский и английский текст на термы: последовательности букв и цифр в нижнем регистре,
+ * «ё» приводится к «е», служебные слова отбрасываются.
+ */
+public final class Tokenizer {
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "и", "в", "во", "на", "с", "со", "о", "об", "по", "к", "у", "из", "за", "от", "до", "не", "а", "но",
+            "the", "a", "an", "and", "or", "of", "in", "on", "at", "to", "for", "is", "by", "with");
+
+    private Tokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                token.append(normalize(c));
+            } else if (!token.isEmpty()) {
+                String term = token.toString();
+                if (!STOP_WORDS.contains(term)) {
+                    tokens.add(term);
+                }
+                token.setLength(0);
+            }
+        }
+        return tokens;
+    }
+
+    private static char normalize(char c) {
+        char lower = Character.toLowerCase(c);
+        return lower == 'ё' ? 'е' : lower;
+    }
+}
@@ -0,0 +1,87 @@
+package ru.yandex.practicum.filmorate.serializer;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Пишет сущности и их коллекции в JSON из {@link JsonBytesCache}: байты каждой сущности копируются
+ * в поток ответа как есть, а массив собирается из них без повторной сериализации.
+ * Остальные типы и чтение запросов обрабатывает стандартный конвертер Jackson.
+ */
+public class CachedJsonHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    private final JsonBytesCache cache;
+
+    public CachedJsonHttpMessageConverter(JsonBytesCache cache) {
+        super(MediaType.APPLICATION_JSON);
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return JsonBytesCache.supports(clazz);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        if (!canWrite(mediaType)) {
+            return false;
+        }
+        if (JsonBytesCache.supports(clazz)) {
+            return true;
+        }
+        if (type == null || !Collection.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        Class<?> elementType = ResolvableType.forType(type).asCollection().resolveGeneric(0);
+        return elementType != null && JsonBytesCache.supports(elementType);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Чтение не поддерживается", inputMessage);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Чтение не поддерживается", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        if (!(value instanceof Collection<?> items)) {
+            body.write(cache.bytes(value));
+            return;
+        }
+        body.write('[');
+        boolean first = true;
+        for (Object item : items) {
+            if (!first) {
+                body.write(',');
+            }
+            body.write(cache.bytes(item));
+            first = false;
+        }
+        body.write(']');
+    }
+}
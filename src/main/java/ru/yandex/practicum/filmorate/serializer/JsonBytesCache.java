@@ -0,0 +1,70 @@
+package ru.yandex.practicum.filmorate.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import ru.yandex.practicum.filmorate.model.Versioned;
+
+import java.io.IOException;
+
+/**
+ * Кеш сериализованного JSON сущностей. Запись хранит байты вместе с версией сущности, поэтому
+ * create и update делают её недействительной сами: после изменения версия не совпадёт, и байты
+ * будут получены заново. Размер ограничен суммарным объёмом байтов, вытеснение — W-TinyLFU.
+ * <p>Кеш полагается на то, что хранилища не меняют выданные экземпляры: обновление кладёт в хранилище
+ * новую копию, опубликованную через конкурентную карту. Поэтому версия и поля, прочитанные у одного
+ * экземпляра, всегда согласованы, и под версией не окажутся байты другого состояния.
+ */
+public class JsonBytesCache {
+
+    private static final int ENTRY_OVERHEAD = 64;
+
+    private final ObjectWriter writer;
+    private final Cache<Key, Entry> cache;
+
+    public JsonBytesCache(ObjectMapper objectMapper, long maxBytes, MeterRegistry meterRegistry) {
+        this.writer = objectMapper.writer();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((Key key, Entry entry) -> entry.bytes().length + ENTRY_OVERHEAD)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "json");
+    }
+
+    public static boolean supports(Class<?> type) {
+        return Versioned.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Возвращает JSON значения, по возможности из кеша. Байты сохраняются под версией того же экземпляра,
+     * из которого получены.
+     */
+    public byte[] bytes(Object value) throws IOException {
+        if (!(value instanceof Versioned entity)) {
+            return writer.writeValueAsBytes(value);
+        }
+        long version = entity.getVersion();
+        Key key = new Key(entity.getClass(), entity.getId());
+        Entry entry = cache.getIfPresent(key);
+        if (entry != null && entry.version() == version) {
+            return entry.bytes();
+        }
+        byte[] bytes = writer.writeValueAsBytes(entity);
+        cache.put(key, new Entry(version, bytes));
+        return bytes;
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private record Key(Class<?> type, int id) {
+    }
+
+    private record Entry(long version, byte[] bytes) {
+    }
+}
@@ -0,0 +1,48 @@
+package ru.yandex.practicum.filmorate.serializer;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Пишет коллекцию построчно в формате NDJSON прямо в поток ответа, не собирая её в памяти.
+ * JSON сущностей берётся из {@link JsonBytesCache}.
+ */
+public class NdjsonHttpMessageConverter extends AbstractHttpMessageConverter<Iterable<?>> {
+
+    private final JsonBytesCache cache;
+
+    public NdjsonHttpMessageConverter(JsonBytesCache cache) {
+        super(MediaType.APPLICATION_NDJSON);
+        this.cache = cache;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Iterable.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Iterable<?> readInternal(Class<? extends Iterable<?>> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Чтение NDJSON не поддерживается", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Iterable<?> items, HttpOutputMessage outputMessage) throws IOException {
+        OutputStream body = outputMessage.getBody();
+        for (Object item : items) {
+            body.write(cache.bytes(item));
+            body.write('\n');
+        }
+    }
+}
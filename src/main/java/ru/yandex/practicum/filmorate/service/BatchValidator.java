@@ -0,0 +1,62 @@
+package ru.yandex.practicum.filmorate.service;
+
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.BatchItemError;
+import ru.yandex.practicum.filmorate.validation.Validator;
+import ru.yandex.practicum.filmorate.validation.Violations;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Читает элементы пачки порциями и проверяет каждую порцию параллельно. Каждый поток проверяет элементы
+ * в собственный переиспользуемый {@link Violations}, так что корректные элементы не порождают ни исключений,
+ * ни промежуточных объектов.
+ */
+final class BatchValidator {
+
+    static final int MAX_BATCH_SIZE = 100_000;
+    private static final int CHUNK_SIZE = 1024;
+    private static final ThreadLocal<Violations> VIOLATIONS = ThreadLocal.withInitial(Violations::new);
+
+    private BatchValidator() {
+    }
+
+    /**
+     * Проверяет элементы правилами {@code validator}; для каждого отклонённого элемента вызывает
+     * {@code rejected} с его нарушениями (из рабочего потока, объект действителен только внутри вызова).
+     */
+    static <T> List<BatchItemError> validate(Iterator<T> items, List<T> accepted, Validator<? super T> validator,
+                                             Consumer<Violations> rejected) {
+        Queue<BatchItemError> errors = new ConcurrentLinkedQueue<>();
+        List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+        while (items.hasNext()) {
+            int offset = accepted.size();
+            while (items.hasNext() && chunk.size() < CHUNK_SIZE) {
+                chunk.add(items.next());
+            }
+            if (offset + chunk.size() > MAX_BATCH_SIZE) {
+                throw new ValidationException("Размер пачки не может превышать " + MAX_BATCH_SIZE + " элементов");
+            }
+            IntStream.range(0, chunk.size()).parallel().forEach(i -> {
+                Violations violations = VIOLATIONS.get();
+                violations.clear();
+                if (!validator.validate(chunk.get(i), violations)) {
+                    rejected.accept(violations);
+                    errors.add(new BatchItemError(offset + i, violations.message()));
+                }
+            });
+            accepted.addAll(chunk);
+            chunk.clear();
+        }
+        return errors.stream()
+                .sorted(Comparator.comparingInt(BatchItemError::index))
+                .toList();
+    }
+}
@@ -0,0 +1,204 @@
+package ru.yandex.practicum.filmorate.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.yandex.practicum.filmorate.changes.ChangeEventLog;
+import ru.yandex.practicum.filmorate.event.FilmChangedEvent;
+import ru.yandex.practicum.filmorate.event.FilmsCreatedEvent;
+import ru.yandex.practicum.filmorate.event.UserChangedEvent;
+import ru.yandex.practicum.filmorate.event.UsersCreatedEvent;
+import ru.yandex.practicum.filmorate.exception.OffsetExpiredException;
+import ru.yandex.practicum.filmorate.model.ChangeBatch;
+import ru.yandex.practicum.filmorate.model.Versioned;
+import ru.yandex.practicum.filmorate.serializer.JsonBytesCache;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Поток изменений фильмов и пользователей для внешних потребителей. Каждое создание и обновление
+ * попадает в {@link ChangeEventLog} вместе с JSON сущности; потребители читают журнал с нужного номера
+ * долгим опросом или через Server-Sent Events. События приходят от хранилища из критической секции
+ * записи, поэтому изменения одной сущности попадают в журнал строго в порядке её версий. Пакетная
+ * загрузка записывается одним событием {@code create_batch} с диапазоном созданных id.
+ *
+ * <p>Подписчики SSE получают события порциями до {@link #BATCH_SIZE} штук. Следующая порция читается
+ * только после того, как предыдущая отправлена, поэтому медленный клиент задерживает лишь себя, а память
+ * ограничена ёмкостью журнала. Отставший дальше ёмкости подписчик получает событие {@code expired}
+ * и должен заново загрузить коллекции.
+ */
+@Service
+@Slf4j
+public class ChangeFeedService {
+
+    static final int BATCH_SIZE = 256;
+    private static final Duration STREAM_TIMEOUT = Duration.ofMinutes(30);
+
+    private final ChangeEventLog changeLog;
+    private final JsonBytesCache jsonBytesCache;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public ChangeFeedService(@Value("${filmorate.changes.capacity:10000}") int capacity,
+                             JsonBytesCache jsonBytesCache) {
+        this.changeLog = new ChangeEventLog(capacity);
+        this.jsonBytesCache = jsonBytesCache;
+    }
+
+    @EventListener
+    public void onFilmChanged(FilmChangedEvent event) {
+        record("film", event.film());
+    }
+
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        record("user", event.user());
+    }
+
+    @EventListener
+    public void onFilmsCreated(FilmsCreatedEvent event) {
+        recordBatch("film", event.films());
+    }
+
+    @EventListener
+    public void onUsersCreated(UsersCreatedEvent event) {
+        recordBatch("user", event.users());
+    }
+
+    public long nextOffset() {
+        return changeLog.nextOffset();
+    }
+
+    /**
+     * Долгий опрос: сразу возвращает доступные события, а если их нет — ждёт первого нового события
+     * не дольше {@code timeout} и возвращает пустую порцию по истечении времени.
+     */
+    public DeferredResult<ChangeBatch> poll(long from, int limit, Duration timeout) {
+        DeferredResult<ChangeBatch> result = new DeferredResult<>(timeout.toMillis());
+        ChangeBatch batch = changeLog.read(from, limit);
+        if (!batch.events().isEmpty() || timeout.isZero()) {
+            result.setResult(batch);
+            return result;
+        }
+        Runnable cancel = changeLog.onAvailable(batch.nextOffset(), () -> {
+            try {
+                result.setResult(changeLog.read(batch.nextOffset(), limit));
+            } catch (RuntimeException e) {
+                result.setErrorResult(e);
+            }
+        });
+        result.onTimeout(() -> result.setResult(batch));
+        result.onCompletion(cancel);
+        return result;
+    }
+
+    public SseEmitter stream(long from) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT.toMillis());
+        Subscription subscription = new Subscription(emitter, from);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(error -> subscription.close());
+        subscription.schedule();
+        return emitter;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void record(String entity, Versioned value) {
+        long version = value.getVersion();
+        String data;
+        try {
+            data = new String(jsonBytesCache.bytes(value), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        changeLog.append(entity, version == 1 ? "create" : "update", value.getId(), version, data);
+    }
+
+    /**
+     * Пачка попадает в журнал одним событием с диапазоном id вместо события на каждую запись:
+     * иначе пачка до {@code BatchValidator.MAX_BATCH_SIZE} записей вытеснила бы из журнала всё остальное
+     * и сериализовалась бы целиком в потоке запроса. Потребитель дочитывает сами записи по диапазону.
+     */
+    private void recordBatch(String entity, List<? extends Versioned> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        BatchRange range = new BatchRange(values.getFirst().getId(), values.getLast().getId(), values.size());
+        String data;
+        try {
+            data = new String(jsonBytesCache.bytes(range), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        changeLog.append(entity, "create_batch", range.firstId(), 1, data);
+    }
+
+    record BatchRange(int firstId, int lastId, int count) {
+    }
+
+    private final class Subscription {
+
+        private final SseEmitter emitter;
+        private volatile long cursor;
+        private volatile boolean closed;
+        private volatile Runnable cancel = () -> { };
+
+        Subscription(SseEmitter emitter, long from) {
+            this.emitter = emitter;
+            this.cursor = from;
+        }
+
+        void schedule() {
+            if (!closed) {
+                executor.execute(this::deliver);
+            }
+        }
+
+        void close() {
+            closed = true;
+            cancel.run();
+        }
+
+        private void deliver() {
+            try {
+                while (!closed) {
+                    ChangeBatch batch = changeLog.read(cursor, BATCH_SIZE);
+                    if (batch.events().isEmpty()) {
+                        cancel = changeLog.onAvailable(batch.nextOffset(), this::schedule);
+                        return;
+                    }
+                    emitter.send(SseEmitter.event()
+                            .name("changes")
+                            .id(String.valueOf(batch.nextOffset() - 1))
+                            .data(batch.events(), MediaType.APPLICATION_JSON));
+                    cursor = batch.nextOffset();
+                }
+            } catch (OffsetExpiredException e) {
+                log.warn("Подписчик на изменения отстал: {}", e.getMessage());
+                try {
+                    emitter.send(SseEmitter.event().name("expired").data(e.getMessage()));
+                    emitter.complete();
+                } catch (IOException | IllegalStateException ignored) {
+                    close();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("Подписчик на изменения отключился: {}", e.getMessage());
+                close();
+            }
+        }
+    }
+}
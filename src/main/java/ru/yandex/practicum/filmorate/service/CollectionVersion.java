@@ -0,0 +1,34 @@
+package ru.yandex.practicum.filmorate.service;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Версия коллекции: счётчик изменений и время последнего из них. В ETag входит момент запуска,
+ * чтобы после перезапуска сервиса счётчик, начатый заново, не совпал со старым ETag клиента.
+ */
+public class CollectionVersion {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicReference<Stamp> current = new AtomicReference<>(stamp(0));
+
+    /**
+     * Отмечает изменение коллекции. Вызывается после записи в хранилище, поэтому ETag, прочитанный
+     * до чтения данных, никогда не окажется новее самих данных.
+     */
+    public void bump() {
+        current.updateAndGet(stamp -> stamp(stamp.version() + 1));
+    }
+
+    public Stamp current() {
+        return current.get();
+    }
+
+    private Stamp stamp(long version) {
+        return new Stamp(version, "\"" + epoch + "-" + version + "\"", Instant.now().truncatedTo(ChronoUnit.SECONDS));
+    }
+
+    public record Stamp(long version, String etag, Instant lastModified) {
+    }
+}
@@ -0,0 +1,75 @@
+package ru.yandex.practicum.filmorate.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.event.FilmChangedEvent;
+import ru.yandex.practicum.filmorate.event.FilmsCreatedEvent;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.search.InvertedIndex;
+import ru.yandex.practicum.filmorate.search.Tokenizer;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Полнотекстовый поиск по названию и описанию фильмов. Индекс строится из хранилища при старте
+ * и обновляется по событиям создания и изменения фильмов.
+ */
+@Service
+@Slf4j
+public class FilmSearchService {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private final FilmStorage filmStorage;
+    private final InvertedIndex index = new InvertedIndex();
+
+    public FilmSearchService(FilmStorage filmStorage) {
+        this.filmStorage = filmStorage;
+        for (Film film : filmStorage.findAll()) {
+            index(film);
+        }
+        log.info("Поисковый индекс построен: {} фильмов", index.size());
+    }
+
+    public List<Film> search(String query, int limit) {
+        List<String> terms = Tokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            String message = "Поисковый запрос должен содержать хотя бы одно слово";
+            log.error("Ошибка при поиске фильмов: {}", message);
+            throw new ValidationException(message);
+        }
+        return index.search(terms, limit)
+                .stream()
+                .map(filmStorage::findById)
+                .flatMap(Optional::stream)
+                .toList();
+    }
+
+    @EventListener
+    public void onFilmChanged(FilmChangedEvent event) {
+        index(event.film());
+    }
+
+    @EventListener
+    public void onFilmsCreated(FilmsCreatedEvent event) {
+        event.films().forEach(this::index);
+    }
+
+    private void index(Film film) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : Tokenizer.tokenize(film.getName())) {
+            weights.merge(term, NAME_WEIGHT, Integer::sum);
+        }
+        for (String term : Tokenizer.tokenize(film.getDescription())) {
+            weights.merge(term, DESCRIPTION_WEIGHT, Integer::sum);
+        }
+        index.index(film.getId(), weights);
+    }
+}
@@ -0,0 +1,328 @@
+package ru.yandex.practicum.filmorate.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.event.FilmChangedEvent;
+import ru.yandex.practicum.filmorate.event.FilmsCreatedEvent;
+import ru.yandex.practicum.filmorate.event.LikeChangedEvent;
+import ru.yandex.practicum.filmorate.exception.ConditionsNotMetException;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.exception.PreconditionFailedException;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.BatchItemError;
+import ru.yandex.practicum.filmorate.model.BatchResult;
+import ru.yandex.practicum.filmorate.model.MultiGetResult;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.like.LikeStorage;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+import ru.yandex.practicum.filmorate.validation.Validator;
+import ru.yandex.practicum.filmorate.validation.Violations;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class FilmService {
+
+    private static final String[] FIELDS = {"name", "description", "releaseDate", "duration"};
+    private static final int ALL_FIELDS = (1 << FIELDS.length) - 1;
+
+    private static final LocalDate CINEMA_BIRTHDAY = LocalDate.of(1895, 12, 28);
+
+    /**
+     * Правила для изменяемых полей; незаданное поле при обновлении не меняется и не проверяется.
+     */
+    private static final Validator<Film> UPDATE_RULES = Validator.<Film>builder()
+            .rule("name", "name_length", "Максимальная длина названия — 255 символов",
+                    film -> film.getName() == null || film.getName().length() <= 255)
+            .rule("description", "description_length", "Максимальная длина описания — 200 символов",
+                    film -> film.getDescription() == null || film.getDescription().length() <= 200)
+            .rule("releaseDate", "release_date", "Дата релиза — не раньше 28 декабря 1895 года",
+                    film -> film.getReleaseDate() == null || !film.getReleaseDate().isBefore(CINEMA_BIRTHDAY))
+            .rule("duration", "duration_positive", "Продолжительность фильма должна быть положительным числом",
+                    film -> film.getDuration() == null
+                            || !film.getDuration().isNegative() && !film.getDuration().isZero())
+            .build();
+
+    private static final Validator<Film> CREATE_RULES = Validator.<Film>builder()
+            .rule("name", "name_blank", "Название не может быть пустым",
+                    film -> film.getName() != null && !film.getName().isBlank())
+            .rule("releaseDate", "release_date_required", "Дата релиза должна быть указана",
+                    film -> film.getReleaseDate() != null)
+            .rule("duration", "duration_required", "Продолжительность фильма должна быть указана",
+                    film -> film.getDuration() != null)
+            .include(UPDATE_RULES)
+            .build();
+
+    private final FilmStorage filmStorage;
+    private final UserStorage userStorage;
+    private final LikeStorage likeStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MutationLog mutationLog;
+    private final OperationMetrics metrics;
+    private final CollectionVersion version = new CollectionVersion();
+    private final Timer createTimer;
+    private final Timer createAllTimer;
+    private final Timer updateTimer;
+    private final Timer likeTimer;
+
+    public FilmService(FilmStorage filmStorage, UserStorage userStorage, LikeStorage likeStorage,
+                       ApplicationEventPublisher eventPublisher, MutationLog mutationLog, MeterRegistry meterRegistry) {
+        this.filmStorage = filmStorage;
+        this.userStorage = userStorage;
+        this.likeStorage = likeStorage;
+        this.eventPublisher = eventPublisher;
+        this.mutationLog = mutationLog;
+        this.metrics = new OperationMetrics(meterRegistry, "film");
+        this.createTimer = metrics.timer("create");
+        this.createAllTimer = metrics.timer("create_all");
+        this.updateTimer = metrics.timer("update");
+        this.likeTimer = metrics.timer("like");
+    }
+
+    public Collection<Film> findAll() {
+        return filmStorage.findAll();
+    }
+
+    /**
+     * Выбирает фильмы по диапазонам даты выхода и продолжительности через вторичные индексы хранилища.
+     * Если заданы оба диапазона, выборка идёт по индексу дат, а продолжительность проверяется у найденных.
+     */
+    public List<Film> findByRange(LocalDate releasedFrom, LocalDate releasedTo, Duration minDuration,
+                                  Duration maxDuration) {
+        if (releasedFrom != null && releasedTo != null && releasedFrom.isAfter(releasedTo)) {
+            throw rangeError("Начало диапазона дат выхода позже его конца");
+        }
+        if (minDuration != null && maxDuration != null && minDuration.compareTo(maxDuration) > 0) {
+            throw rangeError("Минимальная продолжительность больше максимальной");
+        }
+        List<Film> films = releasedFrom == null && releasedTo == null
+                ? filmStorage.findByDuration(minDuration, maxDuration)
+                : filmStorage.findByReleaseDate(releasedFrom, releasedTo);
+        // индексы в памяти прижимают ключи к диапазону int, поэтому выборка по индексу уточняется точным сравнением
+        return films.stream()
+                .filter(film -> inRange(film.getReleaseDate(), releasedFrom, releasedTo)
+                        && inRange(film.getDuration(), minDuration, maxDuration))
+                .toList();
+    }
+
+    private static <C extends Comparable<? super C>> boolean inRange(C value, C from, C to) {
+        if (from == null && to == null) {
+            return true;
+        }
+        return value != null
+                && (from == null || value.compareTo(from) >= 0)
+                && (to == null || value.compareTo(to) <= 0);
+    }
+
+    private ValidationException rangeError(String message) {
+        log.error("Ошибка при выборке фильмов: {}", message);
+        return new ValidationException(message);
+    }
+
+    public Film findById(int id) {
+        return filmStorage.findById(id).orElseThrow(() -> filmNotFound(id));
+    }
+
+    /**
+     * Находит записи по списку id одним запросом к хранилищу, см. {@link MultiGetResult#resolve}.
+     */
+    public MultiGetResult<Film> findByIds(List<Integer> ids) {
+        return MultiGetResult.resolve(ids, filmStorage::findByIds, Film::getId);
+    }
+
+    public List<Film> findPage(int afterId, int limit) {
+        return filmStorage.findPage(afterId, limit);
+    }
+
+    public int count() {
+        return filmStorage.size();
+    }
+
+    public CollectionVersion.Stamp version() {
+        return version.current();
+    }
+
+    public Film create(Film film) {
+        return createTimer.record(() -> doCreate(film));
+    }
+
+    private Film doCreate(Film film) {
+        check(CREATE_RULES, film);
+        film.setVersion(1);
+        filmStorage.create(film, this::publishChanged);
+        version.bump();
+        mutationLog.record("film", "create", film.getId(), film.getVersion(), FIELDS, ALL_FIELDS);
+        return film;
+    }
+
+    public BatchResult createAll(Iterator<Film> films) {
+        return createAllTimer.record(() -> doCreateAll(films));
+    }
+
+    private BatchResult doCreateAll(Iterator<Film> films) {
+        List<Film> accepted = new ArrayList<>();
+        List<BatchItemError> errors = BatchValidator.validate(films, accepted, CREATE_RULES,
+                metrics::validationFailed);
+        if (!errors.isEmpty()) {
+            log.error("Пачка фильмов отклонена: {} ошибок из {}", errors.size(), accepted.size());
+            return BatchResult.rejected(errors);
+        }
+        accepted.forEach(film -> film.setVersion(1));
+        filmStorage.createAll(accepted, created -> eventPublisher.publishEvent(new FilmsCreatedEvent(created)));
+        version.bump();
+        log.info("Добавлена пачка фильмов: {}", accepted.size());
+        return accepted.isEmpty()
+                ? new BatchResult(0, null, null, errors)
+                : new BatchResult(accepted.size(), accepted.getFirst().getId(), accepted.getLast().getId(), errors);
+    }
+
+    public Film update(Film newFilm) {
+        return update(newFilm, Set.of());
+    }
+
+    /**
+     * Обновляет фильм, если его текущая версия входит в {@code expectedVersions} (пустое множество — без проверки).
+     * Версия сверяется и увеличивается внутри атомарного обновления хранилища.
+     */
+    public Film update(Film newFilm, Set<Long> expectedVersions) {
+        return updateTimer.record(() -> doUpdate(newFilm, expectedVersions));
+    }
+
+    private Film doUpdate(Film newFilm, Set<Long> expectedVersions) {
+        if (newFilm.getId() <= 0) {
+            String message = "Id должен быть указан";
+            log.error("Ошибка при обновлении фильма: {}", message);
+            throw new ConditionsNotMetException(message);
+        }
+        if (filmStorage.findById(newFilm.getId()).isEmpty()) {
+            throw filmNotFound(newFilm.getId());
+        }
+        check(UPDATE_RULES, newFilm);
+        Film updated = filmStorage.update(newFilm.getId(), oldFilm -> {
+            if (!expectedVersions.isEmpty() && !expectedVersions.contains(oldFilm.getVersion())) {
+                log.error("Версия фильма {} изменилась: {}", oldFilm.getId(), oldFilm.getVersion());
+                throw new PreconditionFailedException("Фильм с id = " + oldFilm.getId() + " изменён, текущая версия "
+                        + oldFilm.getVersion());
+            }
+            if (newFilm.getName() != null) {
+                oldFilm.setName(newFilm.getName());
+            }
+            if (newFilm.getDescription() != null) {
+                oldFilm.setDescription(newFilm.getDescription());
+            }
+            if (newFilm.getReleaseDate() != null) {
+                oldFilm.setReleaseDate(newFilm.getReleaseDate());
+            }
+            if (newFilm.getDuration() != null) {
+                oldFilm.setDuration(newFilm.getDuration());
+            }
+            oldFilm.setVersion(oldFilm.getVersion() + 1);
+        }, this::publishChanged).orElseThrow(() -> filmNotFound(newFilm.getId()));
+        version.bump();
+        mutationLog.record("film", "update", updated.getId(), updated.getVersion(), FIELDS, changedFields(newFilm));
+        return updated;
+    }
+
+    /**
+     * Вызывается хранилищем в критической секции записи, поэтому события одного фильма публикуются
+     * строго в порядке его версий.
+     */
+    private void publishChanged(Film film) {
+        eventPublisher.publishEvent(new FilmChangedEvent(film));
+    }
+
+    public void addLike(int filmId, int userId) {
+        likeTimer.record(() -> {
+            checkLikeParticipants(filmId, userId);
+            if (likeStorage.addLike(filmId, userId)) {
+                log.info("Пользователь {} поставил лайк фильму {}", userId, filmId);
+                eventPublisher.publishEvent(new LikeChangedEvent(filmId, userId, true));
+            }
+        });
+    }
+
+    public void removeLike(int filmId, int userId) {
+        likeTimer.record(() -> {
+            checkLikeParticipants(filmId, userId);
+            if (likeStorage.removeLike(filmId, userId)) {
+                log.info("Пользователь {} удалил лайк фильму {}", userId, filmId);
+                eventPublisher.publishEvent(new LikeChangedEvent(filmId, userId, false));
+            }
+        });
+    }
+
+    public List<Film> findPopular(int count) {
+        if (count <= 0) {
+            String message = "Количество фильмов должно быть положительным";
+            log.error("Ошибка при получении популярных фильмов: {}", message);
+            throw new ValidationException(message);
+        }
+        List<Film> popular = new ArrayList<>(count);
+        Set<Integer> included = new HashSet<>();
+        for (int filmId : likeStorage.findPopular(count)) {
+            Optional<Film> film = filmStorage.findById(filmId);
+            if (film.isPresent() && included.add(filmId)) {
+                popular.add(film.get());
+            }
+        }
+        int after = 0;
+        while (popular.size() < count) {
+            List<Film> page = filmStorage.findPage(after, count - popular.size());
+            if (page.isEmpty()) {
+                break;
+            }
+            for (Film film : page) {
+                if (included.add(film.getId())) {
+                    popular.add(film);
+                }
+            }
+            after = page.getLast().getId();
+        }
+        return popular;
+    }
+
+    private void checkLikeParticipants(int filmId, int userId) {
+        if (filmStorage.findById(filmId).isEmpty()) {
+            throw filmNotFound(filmId);
+        }
+        if (userStorage.findById(userId).isEmpty()) {
+            log.error("Пользователь с id = {} не найден", userId);
+            throw new NotFoundException("Пользователь с id = " + userId + " не найден");
+        }
+    }
+
+    private void check(Validator<Film> validator, Film film) {
+        Violations violations = new Violations();
+        if (!validator.validate(film, violations)) {
+            metrics.validationFailed(violations);
+            log.debug("Фильм не прошёл валидацию: {}", violations);
+            throw new ValidationException(violations);
+        }
+    }
+
+    private static int changedFields(Film film) {
+        return (film.getName() != null ? 1 : 0)
+                | (film.getDescription() != null ? 1 << 1 : 0)
+                | (film.getReleaseDate() != null ? 1 << 2 : 0)
+                | (film.getDuration() != null ? 1 << 3 : 0);
+    }
+
+    private NotFoundException filmNotFound(int id) {
+        log.error("Фильм с id = {} не найден", id);
+        return new NotFoundException("Фильм с id = " + id + " не найден");
+    }
+}
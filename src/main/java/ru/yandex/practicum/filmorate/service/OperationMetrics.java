@@ -0,0 +1,47 @@
+package ru.yandex.practicum.filmorate.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import ru.yandex.practicum.filmorate.validation.Violations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Метрики операций сервиса: таймер на каждую операцию и счётчики нарушений правил валидации.
+ */
+class OperationMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final String entity;
+    private final Map<String, Counter> validationFailures = new ConcurrentHashMap<>();
+
+    OperationMetrics(MeterRegistry meterRegistry, String entity) {
+        this.meterRegistry = meterRegistry;
+        this.entity = entity;
+    }
+
+    Timer timer(String operation) {
+        return Timer.builder("filmorate.operation")
+                .description("Время выполнения операций сервиса")
+                .tag("entity", entity)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+
+    void validationFailed(String rule) {
+        validationFailures.computeIfAbsent(rule, key -> Counter.builder("filmorate.validation.failures")
+                        .description("Количество нарушений правил валидации")
+                        .tag("entity", entity)
+                        .tag("rule", key)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    void validationFailed(Violations violations) {
+        for (int i = 0; i < violations.size(); i++) {
+            validationFailed(violations.code(i));
+        }
+    }
+}
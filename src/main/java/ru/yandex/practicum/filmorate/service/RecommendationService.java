@@ -0,0 +1,153 @@
+package ru.yandex.practicum.filmorate.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.event.LikeChangedEvent;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.storage.SortedIntArrays;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.like.LikeStorage;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Рекомендации «пользователям с похожими лайками понравилось»: ближайшие соседи по косинусной мере
+ * на разреженных векторах лайков. Сходство с кандидатами считается параллельно в общем ForkJoinPool.
+ * Результаты кешируются вместе с отметкой поколений фильмов, которые лайкнул пользователь. Лайк увеличивает
+ * поколение фильма и всех фильмов автора лайка, поэтому у затронутых соседей отметка при чтении не совпадёт,
+ * и рекомендации будут посчитаны заново. Поколения хранятся в массиве фиксированного размера по хешу id:
+ * совпадение ячеек даёт лишний пересчёт, но не устаревший результат.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class RecommendationService {
+
+    private static final int NEIGHBOURS = 20;
+    private static final int GENERATION_SLOTS = 1 << 16;
+    private static final int CACHE_SIZE = 10_000;
+
+    private final LikeStorage likeStorage;
+    private final FilmStorage filmStorage;
+    private final UserStorage userStorage;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+    private final Cache<Integer, CachedRecommendations> cache = Caffeine.newBuilder()
+            .maximumSize(CACHE_SIZE)
+            .build();
+
+    public List<Film> recommend(int userId, int count) {
+        if (count <= 0) {
+            String message = "Количество рекомендаций должно быть положительным";
+            log.error("Ошибка при получении рекомендаций: {}", message);
+            throw new ValidationException(message);
+        }
+        if (userStorage.findById(userId).isEmpty()) {
+            log.error("Пользователь с id = {} не найден", userId);
+            throw new NotFoundException("Пользователь с id = " + userId + " не найден");
+        }
+        int[] liked = likeStorage.findLikedFilms(userId);
+        long generation = generation(liked);
+        CachedRecommendations cached = cache.getIfPresent(userId);
+        int[] filmIds;
+        if (cached != null && cached.generation() == generation && Arrays.equals(cached.liked(), liked)) {
+            filmIds = cached.filmIds();
+        } else {
+            filmIds = compute(userId, liked);
+            cache.put(userId, new CachedRecommendations(liked, generation, filmIds));
+        }
+        List<Film> films = new ArrayList<>(Math.min(count, filmIds.length));
+        for (int i = 0; i < filmIds.length && films.size() < count; i++) {
+            Optional<Film> film = filmStorage.findById(filmIds[i]);
+            film.ifPresent(films::add);
+        }
+        return films;
+    }
+
+    /**
+     * Рекомендации пользователя зависят от векторов всех, с кем у него есть общий фильм. Изменившийся
+     * вектор автора лайка делит фильм ровно с теми, кто лайкнул этот фильм или любой другой из его фильмов,
+     * поэтому достаточно увеличить их поколения; сами кеши проверяются лениво при чтении.
+     */
+    @EventListener
+    public void onLikeChanged(LikeChangedEvent event) {
+        generations.incrementAndGet(slot(event.filmId()));
+        for (int filmId : likeStorage.findLikedFilms(event.userId())) {
+            generations.incrementAndGet(slot(filmId));
+        }
+    }
+
+    /**
+     * Поколения только растут, поэтому при том же наборе фильмов сумма меняется после любого лайка соседа.
+     */
+    private long generation(int[] liked) {
+        long sum = 0;
+        for (int filmId : liked) {
+            sum += generations.get(slot(filmId));
+        }
+        return sum;
+    }
+
+    private static int slot(int filmId) {
+        int hash = filmId * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (GENERATION_SLOTS - 1);
+    }
+
+    private int[] compute(int userId, int[] liked) {
+        if (liked.length == 0) {
+            return SortedIntArrays.EMPTY;
+        }
+        Set<Integer> candidates = new HashSet<>();
+        for (int filmId : liked) {
+            candidates.addAll(likeStorage.findLikes(filmId));
+        }
+        candidates.remove(userId);
+
+        List<Neighbour> neighbours = candidates.parallelStream()
+                .map(candidate -> {
+                    int[] candidateLikes = likeStorage.findLikedFilms(candidate);
+                    int overlap = SortedIntArrays.intersect(liked, candidateLikes).length;
+                    double similarity = overlap / Math.sqrt((double) liked.length * candidateLikes.length);
+                    return new Neighbour(candidateLikes, similarity);
+                })
+                .filter(neighbour -> neighbour.similarity() > 0)
+                .sorted(Comparator.comparingDouble(Neighbour::similarity).reversed())
+                .limit(NEIGHBOURS)
+                .toList();
+
+        Map<Integer, Double> scores = new HashMap<>();
+        for (Neighbour neighbour : neighbours) {
+            for (int filmId : neighbour.likes()) {
+                if (!SortedIntArrays.contains(liked, filmId)) {
+                    scores.merge(filmId, neighbour.similarity(), Double::sum);
+                }
+            }
+        }
+        return scores.entrySet()
+                .stream()
+                .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .mapToInt(Map.Entry::getKey)
+                .toArray();
+    }
+
+    private record Neighbour(int[] likes, double similarity) {
+    }
+
+    private record CachedRecommendations(int[] liked, long generation, int[] filmIds) {
+    }
+}
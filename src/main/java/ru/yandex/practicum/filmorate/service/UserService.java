@@ -0,0 +1,371 @@
+package ru.yandex.practicum.filmorate.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import ru.yandex.practicum.filmorate.event.UserChangedEvent;
+import ru.yandex.practicum.filmorate.event.UsersCreatedEvent;
+import ru.yandex.practicum.filmorate.exception.ConditionsNotMetException;
+import ru.yandex.practicum.filmorate.exception.DuplicateException;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.exception.PreconditionFailedException;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.BatchItemError;
+import ru.yandex.practicum.filmorate.model.BatchResult;
+import ru.yandex.practicum.filmorate.model.MultiGetResult;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.friend.FriendStorage;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+import ru.yandex.practicum.filmorate.validation.Validator;
+import ru.yandex.practicum.filmorate.validation.Violations;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Service
+@Slf4j
+public class UserService {
+
+    private static final String[] FIELDS = {"email", "login", "name", "birthday"};
+    private static final int ALL_FIELDS = (1 << FIELDS.length) - 1;
+
+    /**
+     * Длины совпадают с размерами столбцов в таблице {@code users}, чтобы хранилища вели себя одинаково.
+     */
+    private static final Validator<User> LENGTH_RULES = Validator.<User>builder()
+            .rule("email", "email_length", "Максимальная длина электронной почты — 255 символов",
+                    user -> user.getEmail() == null || user.getEmail().length() <= 255)
+            .rule("login", "login_length", "Максимальная длина логина — 255 символов",
+                    user -> user.getLogin() == null || user.getLogin().length() <= 255)
+            .rule("name", "name_length", "Максимальная длина имени — 255 символов",
+                    user -> user.getName() == null || user.getName().length() <= 255)
+            .build();
+
+    /**
+     * Правила для изменяемых полей; незаданное поле при обновлении не меняется и не проверяется.
+     */
+    private static final Validator<User> UPDATE_RULES = Validator.<User>builder()
+            .rule("email", "email", "Электронная почта должна содержать символ @",
+                    user -> user.getEmail() == null || user.getEmail().contains("@"))
+            .rule("login", "login", "Логин не может содержать пробелы",
+                    user -> user.getLogin() == null || !user.getLogin().contains(" "))
+            .rule("birthday", "birthday", "Дата рождения не может быть в будущем",
+                    user -> user.getBirthday() == null || !user.getBirthday().isAfter(LocalDate.now()))
+            .include(LENGTH_RULES)
+            .build();
+
+    private static final Validator<User> CREATE_RULES = Validator.<User>builder()
+            .rule("email", "email", "Электронная почта не может быть пустой и должна содержать символ @",
+                    user -> user.getEmail() != null && !user.getEmail().isBlank() && user.getEmail().contains("@"))
+            .rule("login", "login", "Логин не может быть пустым и содержать пробелы",
+                    user -> user.getLogin() != null && !user.getLogin().isBlank() && !user.getLogin().contains(" "))
+            .rule("birthday", "birthday", "Дата рождения не может быть в будущем",
+                    user -> user.getBirthday() == null || !user.getBirthday().isAfter(LocalDate.now()))
+            .include(LENGTH_RULES)
+            .build();
+
+    private final UserStorage userStorage;
+    private final FriendStorage friendStorage;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MutationLog mutationLog;
+    private final OperationMetrics metrics;
+    private final CollectionVersion version = new CollectionVersion();
+    private final Timer createTimer;
+    private final Timer createAllTimer;
+    private final Timer updateTimer;
+    private final Timer friendsTimer;
+
+    public UserService(UserStorage userStorage, FriendStorage friendStorage, ApplicationEventPublisher eventPublisher,
+                       MutationLog mutationLog, MeterRegistry meterRegistry) {
+        this.userStorage = userStorage;
+        this.friendStorage = friendStorage;
+        this.eventPublisher = eventPublisher;
+        this.mutationLog = mutationLog;
+        this.metrics = new OperationMetrics(meterRegistry, "user");
+        this.createTimer = metrics.timer("create");
+        this.createAllTimer = metrics.timer("create_all");
+        this.updateTimer = metrics.timer("update");
+        this.friendsTimer = metrics.timer("friends");
+    }
+
+    public Collection<User> findAll() {
+        return userStorage.findAll();
+    }
+
+    public User findById(int id) {
+        return userStorage.findById(id).orElseThrow(() -> userNotFound(id));
+    }
+
+    /**
+     * Находит записи по списку id одним запросом к хранилищу, см. {@link MultiGetResult#resolve}.
+     */
+    public MultiGetResult<User> findByIds(List<Integer> ids) {
+        return MultiGetResult.resolve(ids, userStorage::findByIds, User::getId);
+    }
+
+    public List<User> findPage(int afterId, int limit) {
+        return userStorage.findPage(afterId, limit);
+    }
+
+    public int count() {
+        return userStorage.size();
+    }
+
+    public CollectionVersion.Stamp version() {
+        return version.current();
+    }
+
+    public User findByEmail(String email) {
+        return userStorage.findByEmail(email).orElseThrow(() -> {
+            log.error("Пользователь с электронной почтой {} не найден", email);
+            return new NotFoundException("Пользователь с электронной почтой " + email + " не найден");
+        });
+    }
+
+    public User findByLogin(String login) {
+        return userStorage.findByLogin(login).orElseThrow(() -> {
+            log.error("Пользователь с логином {} не найден", login);
+            return new NotFoundException("Пользователь с логином " + login + " не найден");
+        });
+    }
+
+    public User create(User user) {
+        return createTimer.record(() -> doCreate(user));
+    }
+
+    private User doCreate(User user) {
+        check(CREATE_RULES, user);
+        fillName(user);
+        user.setVersion(1);
+        try {
+            userStorage.create(user, this::publishChanged);
+        } catch (DuplicateException e) {
+            throw duplicate(e);
+        }
+        version.bump();
+        mutationLog.record("user", "create", user.getId(), user.getVersion(), FIELDS, ALL_FIELDS);
+        return user;
+    }
+
+    public BatchResult createAll(Iterator<User> users) {
+        return createAllTimer.record(() -> doCreateAll(users));
+    }
+
+    private BatchResult doCreateAll(Iterator<User> users) {
+        List<User> accepted = new ArrayList<>();
+        List<BatchItemError> errors = BatchValidator.validate(users, accepted, CREATE_RULES,
+                metrics::validationFailed);
+        if (errors.isEmpty()) {
+            accepted.forEach(this::fillName);
+            errors = findDuplicates(accepted);
+        }
+        if (!errors.isEmpty()) {
+            log.error("Пачка пользователей отклонена: {} ошибок из {}", errors.size(), accepted.size());
+            return BatchResult.rejected(errors);
+        }
+        accepted.forEach(user -> user.setVersion(1));
+        try {
+            userStorage.createAll(accepted, created -> eventPublisher.publishEvent(new UsersCreatedEvent(created)));
+        } catch (DuplicateException e) {
+            throw duplicate(e);
+        }
+        version.bump();
+        log.info("Добавлена пачка пользователей: {}", accepted.size());
+        return accepted.isEmpty()
+                ? new BatchResult(0, null, null, errors)
+                : new BatchResult(accepted.size(), accepted.getFirst().getId(), accepted.getLast().getId(), errors);
+    }
+
+    public User update(User newUser) {
+        return update(newUser, Set.of());
+    }
+
+    /**
+     * Обновляет пользователя, если его текущая версия входит в {@code expectedVersions} (пустое множество — без проверки).
+     */
+    public User update(User newUser, Set<Long> expectedVersions) {
+        return updateTimer.record(() -> doUpdate(newUser, expectedVersions));
+    }
+
+    private User doUpdate(User newUser, Set<Long> expectedVersions) {
+        if (newUser.getId() <= 0) {
+            String message = "Id должен быть указан";
+            log.error("Ошибка при обновлении фильма: {}", message);
+            throw new ConditionsNotMetException(message);
+        }
+        if (userStorage.findById(newUser.getId()).isEmpty()) {
+            throw userNotFound(newUser.getId());
+        }
+        check(UPDATE_RULES, newUser);
+        User updated;
+        try {
+            updated = applyUpdate(newUser, expectedVersions);
+        } catch (DuplicateException e) {
+            throw duplicate(e);
+        }
+        version.bump();
+        mutationLog.record("user", "update", updated.getId(), updated.getVersion(), FIELDS, changedFields(newUser));
+        return updated;
+    }
+
+    private User applyUpdate(User newUser, Set<Long> expectedVersions) {
+        return userStorage.update(newUser.getId(), oldUser -> {
+            if (!expectedVersions.isEmpty() && !expectedVersions.contains(oldUser.getVersion())) {
+                log.error("Версия пользователя {} изменилась: {}", oldUser.getId(), oldUser.getVersion());
+                throw new PreconditionFailedException("Пользователь с id = " + oldUser.getId()
+                        + " изменён, текущая версия " + oldUser.getVersion());
+            }
+            oldUser.setVersion(oldUser.getVersion() + 1);
+            if (newUser.getEmail() != null) {
+                oldUser.setEmail(newUser.getEmail());
+            }
+            if (newUser.getLogin() != null) {
+                oldUser.setLogin(newUser.getLogin());
+            }
+            if (newUser.getBirthday() != null) {
+                oldUser.setBirthday(newUser.getBirthday());
+            }
+            if (newUser.getName() != null) {
+                oldUser.setName(newUser.getName());
+            }
+            if (newUser.getName() == null || newUser.getName().isBlank()) {
+                oldUser.setName(newUser.getLogin());
+            }
+        }, this::publishChanged).orElseThrow(() -> userNotFound(newUser.getId()));
+    }
+
+    /**
+     * Вызывается хранилищем в критической секции записи, поэтому события одного пользователя публикуются
+     * строго в порядке его версий.
+     */
+    private void publishChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user));
+    }
+
+    public void addFriend(int userId, int friendId) {
+        friendsTimer.record(() -> {
+            checkFriendshipParticipants(userId, friendId);
+            if (friendStorage.addFriend(userId, friendId)) {
+                log.info("Пользователи {} и {} теперь друзья", userId, friendId);
+            }
+        });
+    }
+
+    public void removeFriend(int userId, int friendId) {
+        friendsTimer.record(() -> {
+            checkFriendshipParticipants(userId, friendId);
+            if (friendStorage.removeFriend(userId, friendId)) {
+                log.info("Пользователи {} и {} больше не друзья", userId, friendId);
+            }
+        });
+    }
+
+    public List<User> findFriends(int userId) {
+        return friendsTimer.record(() -> {
+            checkExists(userId);
+            return toUsers(friendStorage.findFriends(userId));
+        });
+    }
+
+    public List<User> findCommonFriends(int userId, int otherId) {
+        return friendsTimer.record(() -> {
+            checkExists(userId);
+            checkExists(otherId);
+            return toUsers(friendStorage.findCommonFriends(userId, otherId));
+        });
+    }
+
+    private List<User> toUsers(int[] ids) {
+        List<User> users = new ArrayList<>(ids.length);
+        for (int id : ids) {
+            Optional<User> user = userStorage.findById(id);
+            user.ifPresent(users::add);
+        }
+        return users;
+    }
+
+    private void checkFriendshipParticipants(int userId, int friendId) {
+        if (userId == friendId) {
+            String message = "Пользователь не может добавить в друзья самого себя";
+            log.error("Ошибка при изменении списка друзей: {}", message);
+            throw new ValidationException(message);
+        }
+        checkExists(userId);
+        checkExists(friendId);
+    }
+
+    private void checkExists(int userId) {
+        if (userStorage.findById(userId).isEmpty()) {
+            throw userNotFound(userId);
+        }
+    }
+
+    private void check(Validator<User> validator, User user) {
+        Violations violations = new Violations();
+        if (!validator.validate(user, violations)) {
+            metrics.validationFailed(violations);
+            log.debug("Пользователь не прошёл валидацию: {}", violations);
+            throw new ValidationException(violations);
+        }
+    }
+
+    private void fillName(User user) {
+        if (user.getName() == null || user.getName().isBlank()) {
+            log.debug("Имя пользователя пустое, в качестве имени будет использован логин: {}", user.getLogin());
+            user.setName(user.getLogin());
+        }
+    }
+
+    /**
+     * Находит в пачке почты и логины, занятые другими пользователями или повторяющиеся внутри пачки.
+     * Каждая проверка — поиск в хеш-индексе, поэтому вся пачка проверяется за O(n).
+     */
+    private List<BatchItemError> findDuplicates(List<User> users) {
+        List<BatchItemError> errors = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> logins = new HashSet<>();
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            if (!emails.add(UserStorage.normalizeKey(user.getEmail()))
+                    || userStorage.findByEmail(user.getEmail()).isPresent()) {
+                metrics.validationFailed("email_unique");
+                errors.add(new BatchItemError(i, "Электронная почта " + user.getEmail() + " уже используется"));
+            } else if (!logins.add(UserStorage.normalizeKey(user.getLogin()))
+                    || userStorage.findByLogin(user.getLogin()).isPresent()) {
+                metrics.validationFailed("login_unique");
+                errors.add(new BatchItemError(i, "Логин " + user.getLogin() + " уже используется"));
+            }
+        }
+        return errors;
+    }
+
+    private DuplicateException duplicate(DuplicateException e) {
+        metrics.validationFailed("unique");
+        log.error("Нарушена уникальность пользователя: {}", e.getMessage());
+        return e;
+    }
+
+    /**
+     * Имя меняется и тогда, когда оно не передано: в этом случае его заменяет логин.
+     */
+    private static int changedFields(User user) {
+        return (user.getEmail() != null ? 1 : 0)
+                | (user.getLogin() != null ? 1 << 1 : 0)
+                | (user.getName() != null || user.getLogin() != null ? 1 << 2 : 0)
+                | (user.getBirthday() != null ? 1 << 3 : 0);
+    }
+
+    private NotFoundException userNotFound(int id) {
+        log.error("Пользователь с id = {} не найден", id);
+        return new NotFoundException("Пользователь с id = " + id + " не найден");
+    }
+}
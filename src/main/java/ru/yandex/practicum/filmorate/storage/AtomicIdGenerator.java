@@ -0,0 +1,26 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AtomicIdGenerator implements IdGenerator {
+
+    private final AtomicInteger lastId = new AtomicInteger();
+
+    @Override
+    public int nextId() {
+        return lastId.incrementAndGet();
+    }
+
+    @Override
+    public int reserve(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("Размер блока должен быть положительным: " + count);
+        }
+        return lastId.getAndAdd(count) + 1;
+    }
+
+    @Override
+    public void advanceTo(int id) {
+        lastId.accumulateAndGet(id, Math::max);
+    }
+}
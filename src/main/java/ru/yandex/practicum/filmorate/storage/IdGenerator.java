@@ -0,0 +1,17 @@
+package ru.yandex.practicum.filmorate.storage;
+
+public interface IdGenerator {
+
+    int nextId();
+
+    /**
+     * Резервирует непрерывный блок из {@code count} идентификаторов и возвращает первый из них.
+     */
+    int reserve(int count);
+
+    /**
+     * Гарантирует, что следующие выданные идентификаторы будут больше {@code id}.
+     * Используется при загрузке уже существующих данных.
+     */
+    void advanceTo(int id);
+}
@@ -0,0 +1,49 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.IntStream;
+
+/**
+ * Вторичный упорядоченный индекс: пары (ключ, id) упакованы в один long, старшие 32 бита — ключ
+ * со знаком, младшие — id. Порядок long совпадает с порядком по ключу, а внутри ключа — по id,
+ * поэтому выборка диапазона ключей стоит O(log n + k).
+ */
+public class RangeIndex {
+
+    private final NavigableSet<Long> entries = new ConcurrentSkipListSet<>();
+
+    /**
+     * Ключи за пределами int хранятся обрезанными до его диапазона, как и границы выборки в {@link #range}.
+     */
+    public void add(long key, int id) {
+        entries.add(pack(clamp(key), id));
+    }
+
+    public void remove(long key, int id) {
+        entries.remove(pack(clamp(key), id));
+    }
+
+    /**
+     * Возвращает id записей с ключом в диапазоне [{@code fromKey}, {@code toKey}] по возрастанию ключа.
+     * Границы за пределами int обрезаются до его диапазона.
+     */
+    public IntStream range(long fromKey, long toKey) {
+        if (fromKey > toKey) {
+            return IntStream.empty();
+        }
+        long from = pack(clamp(fromKey), 0);
+        long to = pack(clamp(toKey), -1);
+        return entries.subSet(from, true, to, true)
+                .stream()
+                .mapToInt(Long::intValue);
+    }
+
+    private static int clamp(long key) {
+        return Math.clamp(key, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    private static long pack(int key, int id) {
+        return ((long) key << 32) | (id & 0xFFFFFFFFL);
+    }
+}
@@ -0,0 +1,62 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+public class StripedLock {
+
+    private static final int DEFAULT_STRIPES = 64;
+
+    private final ReentrantLock[] locks;
+
+    public StripedLock() {
+        this(DEFAULT_STRIPES);
+    }
+
+    public StripedLock(int stripes) {
+        int size = Integer.highestOneBit(Math.max(1, stripes - 1)) << 1;
+        locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(int id, Supplier<T> action) {
+        ReentrantLock lock = locks[stripe(id)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Берёт блокировки двух сущностей в порядке номеров полос, чтобы исключить взаимную блокировку.
+     */
+    public <T> T withLocks(int firstId, int secondId, Supplier<T> action) {
+        int firstStripe = stripe(firstId);
+        int secondStripe = stripe(secondId);
+        if (firstStripe == secondStripe) {
+            return withLock(firstId, action);
+        }
+        ReentrantLock outer = locks[Math.min(firstStripe, secondStripe)];
+        ReentrantLock inner = locks[Math.max(firstStripe, secondStripe)];
+        outer.lock();
+        try {
+            inner.lock();
+            try {
+                return action.get();
+            } finally {
+                inner.unlock();
+            }
+        } finally {
+            outer.unlock();
+        }
+    }
+
+    private int stripe(int id) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (locks.length - 1);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.storage.film;
+
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface FilmStorage {
+
+    Collection<Film> findAll();
+
+    Optional<Film> findById(int id);
+
+    /**
+     * Возвращает найденные записи с указанными id за один проход по хранилищу, в произвольном порядке.
+     */
+    List<Film> findByIds(Collection<Integer> ids);
+
+    /**
+     * Возвращает не более {@code limit} записей с id больше {@code afterId} в порядке возрастания id.
+     */
+    List<Film> findPage(int afterId, int limit);
+
+    /**
+     * Возвращает фильмы с датой выхода в диапазоне [{@code from}, {@code to}] по возрастанию даты.
+     * Отсутствующая граница означает открытый диапазон.
+     */
+    List<Film> findByReleaseDate(LocalDate from, LocalDate to);
+
+    /**
+     * Возвращает фильмы с продолжительностью в диапазоне [{@code min}, {@code max}] по возрастанию.
+     * Отсутствующая граница означает открытый диапазон.
+     */
+    List<Film> findByDuration(Duration min, Duration max);
+
+    default Film create(Film film) {
+        return create(film, created -> {
+        });
+    }
+
+    /**
+     * Сохраняет фильм и вызывает {@code onCommit} в критической секции его id, до того как запись станет
+     * видна другим запросам. Если {@code onCommit} бросает исключение, фильм не сохраняется.
+     */
+    Film create(Film film, Consumer<Film> onCommit);
+
+    default List<Film> createAll(List<Film> films) {
+        return createAll(films, created -> {
+        });
+    }
+
+    /**
+     * Сохраняет пачку записей, выделяя им непрерывный блок идентификаторов, и вызывает {@code onCommit}
+     * до того, как записи станут видны другим запросам. Если {@code onCommit} бросает исключение,
+     * пачка не сохраняется.
+     */
+    List<Film> createAll(List<Film> films, Consumer<List<Film>> onCommit);
+
+    default Optional<Film> update(int id, Consumer<Film> updater) {
+        return update(id, updater, updated -> {
+        });
+    }
+
+    /**
+     * Атомарно применяет {@code updater} к копии сохранённого фильма и заменяет его этой копией;
+     * ранее выданные экземпляры не меняются. {@code onCommit} получает новое состояние в той же
+     * критической секции, поэтому вызовы для одного id идут строго в порядке изменений. Если он бросает
+     * исключение, фильм не меняется. Возвращает пустой Optional, если фильма с таким id нет.
+     */
+    Optional<Film> update(int id, Consumer<Film> updater, Consumer<Film> onCommit);
+
+    int size();
+}
@@ -0,0 +1,189 @@
+package ru.yandex.practicum.filmorate.storage.film;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.storage.AtomicIdGenerator;
+import ru.yandex.practicum.filmorate.storage.IdGenerator;
+import ru.yandex.practicum.filmorate.storage.RangeIndex;
+import ru.yandex.practicum.filmorate.storage.StripedLock;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Хранит фильмы в упорядоченной по id карте и поддерживает вторичные индексы по дате выхода
+ * (в днях от эпохи) и продолжительности (в секундах) для выборок диапазонов.
+ */
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryFilmStorage implements FilmStorage {
+
+    private final ConcurrentNavigableMap<Integer, Film> films = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+    private final StripedLock locks = new StripedLock();
+    private final RangeIndex releaseDateIndex = new RangeIndex();
+    private final RangeIndex durationIndex = new RangeIndex();
+
+    @Override
+    public Collection<Film> findAll() {
+        return Collections.unmodifiableCollection(films.values());
+    }
+
+    @Override
+    public Optional<Film> findById(int id) {
+        return Optional.ofNullable(films.get(id));
+    }
+
+    @Override
+    public List<Film> findByIds(Collection<Integer> ids) {
+        return ids.stream()
+                .map(films::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<Film> findPage(int afterId, int limit) {
+        return films.tailMap(afterId, false)
+                .values()
+                .stream()
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public List<Film> findByReleaseDate(LocalDate from, LocalDate to) {
+        return resolve(releaseDateIndex.range(
+                from == null ? Long.MIN_VALUE : from.toEpochDay(),
+                to == null ? Long.MAX_VALUE : to.toEpochDay()));
+    }
+
+    @Override
+    public List<Film> findByDuration(Duration min, Duration max) {
+        return resolve(durationIndex.range(
+                min == null ? Long.MIN_VALUE : min.getSeconds(),
+                max == null ? Long.MAX_VALUE : max.getSeconds()));
+    }
+
+    @Override
+    public Film create(Film film, Consumer<Film> onCommit) {
+        film.setId(idGenerator.nextId());
+        locks.withLock(film.getId(), () -> {
+            onCommit.accept(film);
+            films.put(film.getId(), film);
+            addToIndexes(film);
+            return film;
+        });
+        size.incrementAndGet();
+        return film;
+    }
+
+    /**
+     * Пока фильмы пачки не опубликованы, их id никому не известны, поэтому обновление не может вклиниться
+     * между {@code onCommit} и публикацией, и держать блокировки на время {@code onCommit} не нужно.
+     */
+    @Override
+    public List<Film> createAll(List<Film> films, Consumer<List<Film>> onCommit) {
+        if (films.isEmpty()) {
+            return films;
+        }
+        int id = idGenerator.reserve(films.size());
+        for (Film film : films) {
+            film.setId(id++);
+        }
+        onCommit.accept(films);
+        for (Film film : films) {
+            locks.withLock(film.getId(), () -> {
+                this.films.put(film.getId(), film);
+                addToIndexes(film);
+                return film;
+            });
+        }
+        size.addAndGet(films.size());
+        return films;
+    }
+
+    @Override
+    public Optional<Film> update(int id, Consumer<Film> updater, Consumer<Film> onCommit) {
+        return locks.withLock(id, () -> {
+            Film oldFilm = films.get(id);
+            if (oldFilm == null) {
+                return Optional.empty();
+            }
+            Film newFilm = copy(oldFilm);
+            updater.accept(newFilm);
+            onCommit.accept(newFilm);
+            removeFromIndexes(oldFilm);
+            films.put(id, newFilm);
+            addToIndexes(newFilm);
+            return Optional.of(newFilm);
+        });
+    }
+
+    public void restore(Film film) {
+        Film previous = films.put(film.getId(), film);
+        if (previous == null) {
+            size.incrementAndGet();
+        } else {
+            removeFromIndexes(previous);
+        }
+        addToIndexes(film);
+        idGenerator.advanceTo(film.getId());
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    private List<Film> resolve(IntStream ids) {
+        return ids.mapToObj(films::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private void addToIndexes(Film film) {
+        if (film.getReleaseDate() != null) {
+            releaseDateIndex.add(film.getReleaseDate().toEpochDay(), film.getId());
+        }
+        if (film.getDuration() != null) {
+            durationIndex.add(film.getDuration().getSeconds(), film.getId());
+        }
+    }
+
+    private void removeFromIndexes(Film film) {
+        if (film.getReleaseDate() != null) {
+            releaseDateIndex.remove(film.getReleaseDate().toEpochDay(), film.getId());
+        }
+        if (film.getDuration() != null) {
+            durationIndex.remove(film.getDuration().getSeconds(), film.getId());
+        }
+    }
+
+    /**
+     * Изменения применяются к копии, а сохранённый экземпляр заменяется целиком: выданные читателям
+     * фильмы не меняются, поэтому сериализация не видит частично применённого обновления.
+     */
+    private static Film copy(Film film) {
+        return Film.builder()
+                .id(film.getId())
+                .version(film.getVersion())
+                .name(film.getName())
+                .description(film.getDescription())
+                .releaseDate(film.getReleaseDate())
+                .duration(film.getDuration())
+                .build();
+    }
+}
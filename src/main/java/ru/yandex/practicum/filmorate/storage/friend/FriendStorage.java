@@ -0,0 +1,24 @@
+package ru.yandex.practicum.filmorate.storage.friend;
+
+public interface FriendStorage {
+
+    /**
+     * Добавляет взаимную дружбу. Возвращает {@code false}, если пользователи уже друзья.
+     */
+    boolean addFriend(int userId, int friendId);
+
+    /**
+     * Удаляет взаимную дружбу. Возвращает {@code false}, если пользователи не были друзьями.
+     */
+    boolean removeFriend(int userId, int friendId);
+
+    /**
+     * Возвращает отсортированные по возрастанию id друзей пользователя.
+     */
+    int[] findFriends(int userId);
+
+    /**
+     * Возвращает отсортированные по возрастанию id общих друзей двух пользователей.
+     */
+    int[] findCommonFriends(int userId, int otherId);
+}
@@ -0,0 +1,62 @@
+package ru.yandex.practicum.filmorate.storage.friend;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.SortedIntArrays;
+import ru.yandex.practicum.filmorate.storage.StripedLock;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Списки смежности хранятся неизменяемыми отсортированными массивами int: изменения публикуют новый массив,
+ * поэтому чтение и пересечение списков не требуют блокировок.
+ *
+ * <p>Используется и при {@code filmorate.storage.type=persistent}: дружба в журнал не пишется
+ * и после перезапуска теряется.
+ */
+@Component
+@ConditionalOnExpression("'${filmorate.storage.type:memory}' != 'jdbc'")
+public class InMemoryFriendStorage implements FriendStorage {
+
+    private final Map<Integer, int[]> friends = new ConcurrentHashMap<>();
+    private final StripedLock locks = new StripedLock();
+
+    @Override
+    public boolean addFriend(int userId, int friendId) {
+        return locks.withLocks(userId, friendId, () -> {
+            int[] userFriends = friends.getOrDefault(userId, SortedIntArrays.EMPTY);
+            if (SortedIntArrays.contains(userFriends, friendId)) {
+                return false;
+            }
+            friends.put(userId, SortedIntArrays.insert(userFriends, friendId));
+            friends.put(friendId, SortedIntArrays.insert(friends.getOrDefault(friendId, SortedIntArrays.EMPTY), userId));
+            return true;
+        });
+    }
+
+    @Override
+    public boolean removeFriend(int userId, int friendId) {
+        return locks.withLocks(userId, friendId, () -> {
+            int[] userFriends = friends.getOrDefault(userId, SortedIntArrays.EMPTY);
+            if (!SortedIntArrays.contains(userFriends, friendId)) {
+                return false;
+            }
+            friends.put(userId, SortedIntArrays.remove(userFriends, friendId));
+            friends.put(friendId, SortedIntArrays.remove(friends.getOrDefault(friendId, SortedIntArrays.EMPTY), userId));
+            return true;
+        });
+    }
+
+    @Override
+    public int[] findFriends(int userId) {
+        return friends.getOrDefault(userId, SortedIntArrays.EMPTY).clone();
+    }
+
+    @Override
+    public int[] findCommonFriends(int userId, int otherId) {
+        return SortedIntArrays.intersect(
+                friends.getOrDefault(userId, SortedIntArrays.EMPTY),
+                friends.getOrDefault(otherId, SortedIntArrays.EMPTY));
+    }
+}
@@ -0,0 +1,176 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.storage.AtomicIdGenerator;
+import ru.yandex.practicum.filmorate.storage.IdGenerator;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "jdbc")
+public class JdbcFilmStorage implements FilmStorage {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String SELECT = "SELECT id, version, name, description, release_date, duration_seconds FROM films";
+    private static final String INSERT =
+            "INSERT INTO films (name, description, release_date, duration_seconds, version, id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE =
+            "UPDATE films SET name = ?, description = ?, release_date = ?, duration_seconds = ?, version = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+
+    public JdbcFilmStorage(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        idGenerator.advanceTo(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM films", Integer.class));
+    }
+
+    @Override
+    public Collection<Film> findAll() {
+        return jdbcTemplate.query(SELECT + " ORDER BY id", JdbcFilmStorage::mapRow);
+    }
+
+    @Override
+    public Optional<Film> findById(int id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", JdbcFilmStorage::mapRow, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<Film> findByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT
+                + " WHERE id IN (" + placeholders + ") ORDER BY id", JdbcFilmStorage::mapRow, ids.toArray());
+    }
+
+    @Override
+    public List<Film> findPage(int afterId, int limit) {
+        return jdbcTemplate.query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", JdbcFilmStorage::mapRow, afterId, limit);
+    }
+
+    @Override
+    public List<Film> findByReleaseDate(LocalDate from, LocalDate to) {
+        return findByRange("release_date",
+                from == null ? null : Date.valueOf(from),
+                to == null ? null : Date.valueOf(to));
+    }
+
+    @Override
+    public List<Film> findByDuration(Duration min, Duration max) {
+        return findByRange("duration_seconds",
+                min == null ? null : min.getSeconds(),
+                max == null ? null : max.getSeconds());
+    }
+
+    private List<Film> findByRange(String column, Object from, Object to) {
+        StringBuilder sql = new StringBuilder(SELECT).append(" WHERE ").append(column).append(" IS NOT NULL");
+        List<Object> args = new ArrayList<>(2);
+        if (from != null) {
+            sql.append(" AND ").append(column).append(" >= ?");
+            args.add(from);
+        }
+        if (to != null) {
+            sql.append(" AND ").append(column).append(" <= ?");
+            args.add(to);
+        }
+        sql.append(" ORDER BY ").append(column).append(", id");
+        return jdbcTemplate.query(sql.toString(), JdbcFilmStorage::mapRow, args.toArray());
+    }
+
+    @Override
+    public Film create(Film film, Consumer<Film> onCommit) {
+        film.setId(idGenerator.nextId());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT, ps -> bind(ps, film));
+            onCommit.accept(film);
+        });
+        return film;
+    }
+
+    @Override
+    public List<Film> createAll(List<Film> films, Consumer<List<Film>> onCommit) {
+        if (films.isEmpty()) {
+            return films;
+        }
+        int id = idGenerator.reserve(films.size());
+        for (Film film : films) {
+            film.setId(id++);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT, films, BATCH_SIZE, JdbcFilmStorage::bind);
+            onCommit.accept(films);
+        });
+        return films;
+    }
+
+    @Override
+    public Optional<Film> update(int id, Consumer<Film> updater, Consumer<Film> onCommit) {
+        return transactionTemplate.execute(status -> {
+            Optional<Film> found = jdbcTemplate.query(SELECT + " WHERE id = ? FOR UPDATE", JdbcFilmStorage::mapRow, id)
+                    .stream()
+                    .findFirst();
+            found.ifPresent(film -> {
+                updater.accept(film);
+                jdbcTemplate.update(UPDATE, ps -> bind(ps, film));
+                onCommit.accept(film);
+            });
+            return found;
+        });
+    }
+
+    @Override
+    public int size() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM films", Integer.class);
+    }
+
+    private static void bind(PreparedStatement ps, Film film) throws SQLException {
+        ps.setString(1, film.getName());
+        ps.setString(2, film.getDescription());
+        ps.setDate(3, film.getReleaseDate() == null ? null : Date.valueOf(film.getReleaseDate()));
+        if (film.getDuration() == null) {
+            ps.setNull(4, Types.BIGINT);
+        } else {
+            ps.setLong(4, film.getDuration().getSeconds());
+        }
+        ps.setLong(5, film.getVersion());
+        ps.setInt(6, film.getId());
+    }
+
+    private static Film mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Date releaseDate = rs.getDate("release_date");
+        long durationSeconds = rs.getLong("duration_seconds");
+        boolean durationNull = rs.wasNull();
+        return Film.builder()
+                .id(rs.getInt("id"))
+                .version(rs.getLong("version"))
+                .name(rs.getString("name"))
+                .description(rs.getString("description"))
+                .releaseDate(releaseDate == null ? null : releaseDate.toLocalDate())
+                .duration(durationNull ? null : Duration.ofSeconds(durationSeconds))
+                .build();
+    }
+}
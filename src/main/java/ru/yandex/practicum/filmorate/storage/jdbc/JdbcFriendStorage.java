@@ -0,0 +1,65 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.storage.friend.FriendStorage;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "jdbc")
+public class JdbcFriendStorage implements FriendStorage {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcFriendStorage(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean addFriend(int userId, int friendId) {
+        try {
+            return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                jdbcTemplate.update("INSERT INTO friendships (user_id, friend_id) VALUES (?, ?), (?, ?)",
+                        userId, friendId, friendId, userId);
+                return true;
+            }));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeFriend(int userId, int friendId) {
+        return jdbcTemplate.update(
+                "DELETE FROM friendships WHERE (user_id = ? AND friend_id = ?) OR (user_id = ? AND friend_id = ?)",
+                userId, friendId, friendId, userId) > 0;
+    }
+
+    @Override
+    public int[] findFriends(int userId) {
+        return jdbcTemplate.queryForList(
+                        "SELECT friend_id FROM friendships WHERE user_id = ? ORDER BY friend_id", Integer.class, userId)
+                .stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Override
+    public int[] findCommonFriends(int userId, int otherId) {
+        return jdbcTemplate.queryForList("""
+                        SELECT f.friend_id
+                        FROM friendships f
+                        JOIN friendships o ON o.friend_id = f.friend_id AND o.user_id = ?
+                        WHERE f.user_id = ?
+                        ORDER BY f.friend_id
+                        """, Integer.class, otherId, userId)
+                .stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+}
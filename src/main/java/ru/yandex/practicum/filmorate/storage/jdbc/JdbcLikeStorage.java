@@ -0,0 +1,65 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.like.LikeStorage;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "jdbc")
+@RequiredArgsConstructor
+public class JdbcLikeStorage implements LikeStorage {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public boolean addLike(int filmId, int userId) {
+        try {
+            return jdbcTemplate.update("INSERT INTO film_likes (film_id, user_id) VALUES (?, ?)", filmId, userId) > 0;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean removeLike(int filmId, int userId) {
+        return jdbcTemplate.update("DELETE FROM film_likes WHERE film_id = ? AND user_id = ?", filmId, userId) > 0;
+    }
+
+    @Override
+    public int countLikes(int filmId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM film_likes WHERE film_id = ?", Integer.class, filmId);
+    }
+
+    @Override
+    public Set<Integer> findLikes(int filmId) {
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT user_id FROM film_likes WHERE film_id = ?", Integer.class, filmId));
+    }
+
+    @Override
+    public int[] findLikedFilms(int userId) {
+        return jdbcTemplate.queryForList(
+                        "SELECT film_id FROM film_likes WHERE user_id = ? ORDER BY film_id", Integer.class, userId)
+                .stream()
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @Override
+    public List<Integer> findPopular(int count) {
+        return jdbcTemplate.queryForList("""
+                SELECT film_id
+                FROM film_likes
+                GROUP BY film_id
+                ORDER BY COUNT(*) DESC, film_id
+                LIMIT ?
+                """, Integer.class, count);
+    }
+}
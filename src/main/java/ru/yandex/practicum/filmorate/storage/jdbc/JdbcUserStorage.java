@@ -0,0 +1,175 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.yandex.practicum.filmorate.exception.DuplicateException;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.AtomicIdGenerator;
+import ru.yandex.practicum.filmorate.storage.IdGenerator;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "jdbc")
+public class JdbcUserStorage implements UserStorage {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String SELECT = "SELECT id, version, email, login, name, birthday FROM users";
+    private static final String INSERT = "INSERT INTO users (email, login, name, birthday, version, id) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE = "UPDATE users SET email = ?, login = ?, name = ?, birthday = ?, version = ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+
+    public JdbcUserStorage(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        idGenerator.advanceTo(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM users", Integer.class));
+    }
+
+    @Override
+    public Collection<User> findAll() {
+        return jdbcTemplate.query(SELECT + " ORDER BY id", JdbcUserStorage::mapRow);
+    }
+
+    @Override
+    public Optional<User> findById(int id) {
+        return jdbcTemplate.query(SELECT + " WHERE id = ?", JdbcUserStorage::mapRow, id)
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public List<User> findByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        return jdbcTemplate.query(SELECT
+                + " WHERE id IN (" + placeholders + ") ORDER BY id", JdbcUserStorage::mapRow, ids.toArray());
+    }
+
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        return jdbcTemplate.query(SELECT + " WHERE id > ? ORDER BY id LIMIT ?", JdbcUserStorage::mapRow, afterId, limit);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return jdbcTemplate.query(SELECT + " WHERE email_key = ?", JdbcUserStorage::mapRow, UserStorage.normalizeKey(email))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public Optional<User> findByLogin(String login) {
+        return jdbcTemplate.query(SELECT + " WHERE login_key = ?", JdbcUserStorage::mapRow, UserStorage.normalizeKey(login))
+                .stream()
+                .findFirst();
+    }
+
+    @Override
+    public User create(User user, Consumer<User> onCommit) {
+        user.setId(idGenerator.nextId());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.update(INSERT, ps -> bind(ps, user));
+                onCommit.accept(user);
+            });
+        } catch (DuplicateKeyException e) {
+            throw duplicate(e);
+        }
+        return user;
+    }
+
+    @Override
+    public List<User> createAll(List<User> users, Consumer<List<User>> onCommit) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        int id = idGenerator.reserve(users.size());
+        for (User user : users) {
+            user.setId(id++);
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.batchUpdate(INSERT, users, BATCH_SIZE, JdbcUserStorage::bind);
+                onCommit.accept(users);
+            });
+        } catch (DuplicateKeyException e) {
+            throw duplicate(e);
+        }
+        return users;
+    }
+
+    @Override
+    public Optional<User> update(int id, Consumer<User> updater, Consumer<User> onCommit) {
+        try {
+            return doUpdate(id, updater, onCommit);
+        } catch (DuplicateKeyException e) {
+            throw duplicate(e);
+        }
+    }
+
+    private Optional<User> doUpdate(int id, Consumer<User> updater, Consumer<User> onCommit) {
+        return transactionTemplate.execute(status -> {
+            Optional<User> found = jdbcTemplate.query(SELECT + " WHERE id = ? FOR UPDATE", JdbcUserStorage::mapRow, id)
+                    .stream()
+                    .findFirst();
+            found.ifPresent(user -> {
+                updater.accept(user);
+                jdbcTemplate.update(UPDATE, ps -> bind(ps, user));
+                onCommit.accept(user);
+            });
+            return found;
+        });
+    }
+
+    @Override
+    public int size() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Integer.class);
+    }
+
+    private static DuplicateException duplicate(DuplicateKeyException e) {
+        String message = String.valueOf(e.getMessage()).toUpperCase(Locale.ROOT);
+        return new DuplicateException(message.contains("USERS_LOGIN_KEY_UQ")
+                ? "Логин уже используется"
+                : "Электронная почта уже используется");
+    }
+
+    private static void bind(PreparedStatement ps, User user) throws SQLException {
+        ps.setString(1, user.getEmail());
+        ps.setString(2, user.getLogin());
+        ps.setString(3, user.getName());
+        ps.setDate(4, user.getBirthday() == null ? null : Date.valueOf(user.getBirthday()));
+        ps.setLong(5, user.getVersion());
+        ps.setInt(6, user.getId());
+    }
+
+    private static User mapRow(ResultSet rs, int rowNum) throws SQLException {
+        Date birthday = rs.getDate("birthday");
+        return User.builder()
+                .id(rs.getInt("id"))
+                .version(rs.getLong("version"))
+                .email(rs.getString("email"))
+                .login(rs.getString("login"))
+                .name(rs.getString("name"))
+                .birthday(birthday == null ? null : birthday.toLocalDate())
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package ru.yandex.practicum.filmorate.storage.like;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.storage.SortedIntArrays;
+import ru.yandex.practicum.filmorate.storage.StripedLock;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Хранит лайки и поддерживает рейтинг фильмов, отсортированный по числу лайков.
+ * Рейтинг обновляется при каждом лайке за O(log n), а первые N фильмов читаются за O(N).
+ * Для каждого пользователя хранится разреженный вектор лайков — отсортированный массив id фильмов.
+ *
+ * <p>Используется и при {@code filmorate.storage.type=persistent}: лайки в журнал не пишутся
+ * и после перезапуска теряются.
+ */
+@Component
+@ConditionalOnExpression("'${filmorate.storage.type:memory}' != 'jdbc'")
+public class InMemoryLikeStorage implements LikeStorage {
+
+    private static final Comparator<Rank> RANK_ORDER = Comparator.comparingInt(Rank::likes)
+            .reversed()
+            .thenComparingInt(Rank::filmId);
+
+    private final Map<Integer, Set<Integer>> likes = new ConcurrentHashMap<>();
+    private final Map<Integer, int[]> likedFilms = new ConcurrentHashMap<>();
+    private final NavigableSet<Rank> ranking = new ConcurrentSkipListSet<>(RANK_ORDER);
+    private final StripedLock locks = new StripedLock();
+
+    @Override
+    public boolean addLike(int filmId, int userId) {
+        return locks.withLocks(filmId, userId, () -> {
+            Set<Integer> users = likes.computeIfAbsent(filmId, id -> ConcurrentHashMap.newKeySet());
+            if (!users.add(userId)) {
+                return false;
+            }
+            likedFilms.put(userId, SortedIntArrays.insert(likedFilms.getOrDefault(userId, SortedIntArrays.EMPTY), filmId));
+            rerank(filmId, users.size() - 1, users.size());
+            return true;
+        });
+    }
+
+    @Override
+    public boolean removeLike(int filmId, int userId) {
+        return locks.withLocks(filmId, userId, () -> {
+            Set<Integer> users = likes.get(filmId);
+            if (users == null || !users.remove(userId)) {
+                return false;
+            }
+            likedFilms.put(userId, SortedIntArrays.remove(likedFilms.getOrDefault(userId, SortedIntArrays.EMPTY), filmId));
+            rerank(filmId, users.size() + 1, users.size());
+            return true;
+        });
+    }
+
+    @Override
+    public int countLikes(int filmId) {
+        Set<Integer> users = likes.get(filmId);
+        return users == null ? 0 : users.size();
+    }
+
+    @Override
+    public Set<Integer> findLikes(int filmId) {
+        Set<Integer> users = likes.get(filmId);
+        return users == null ? Set.of() : Collections.unmodifiableSet(users);
+    }
+
+    @Override
+    public int[] findLikedFilms(int userId) {
+        return likedFilms.getOrDefault(userId, SortedIntArrays.EMPTY);
+    }
+
+    @Override
+    public List<Integer> findPopular(int count) {
+        List<Integer> filmIds = new ArrayList<>(count);
+        Set<Integer> seen = new HashSet<>();
+        for (Rank rank : ranking) {
+            if (filmIds.size() == count) {
+                break;
+            }
+            if (seen.add(rank.filmId())) {
+                filmIds.add(rank.filmId());
+            }
+        }
+        return filmIds;
+    }
+
+    private void rerank(int filmId, int oldLikes, int newLikes) {
+        // Сначала добавляем новую позицию, чтобы параллельное чтение не потеряло фильм.
+        if (newLikes > 0) {
+            ranking.add(new Rank(newLikes, filmId));
+        }
+        if (oldLikes > 0) {
+            ranking.remove(new Rank(oldLikes, filmId));
+        }
+    }
+
+    private record Rank(int likes, int filmId) {
+    }
+}
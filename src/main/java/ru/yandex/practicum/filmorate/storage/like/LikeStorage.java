@@ -0,0 +1,31 @@
+package ru.yandex.practicum.filmorate.storage.like;
+
+import java.util.List;
+import java.util.Set;
+
+public interface LikeStorage {
+
+    /**
+     * Возвращает {@code true}, если лайк добавлен, и {@code false}, если он уже был.
+     */
+    boolean addLike(int filmId, int userId);
+
+    /**
+     * Возвращает {@code true}, если лайк удалён, и {@code false}, если его не было.
+     */
+    boolean removeLike(int filmId, int userId);
+
+    int countLikes(int filmId);
+
+    Set<Integer> findLikes(int filmId);
+
+    /**
+     * Возвращает отсортированные по возрастанию id фильмов, которые понравились пользователю.
+     */
+    int[] findLikedFilms(int userId);
+
+    /**
+     * Возвращает id не более {@code count} фильмов с наибольшим числом лайков, по убыванию.
+     */
+    List<Integer> findPopular(int count);
+}
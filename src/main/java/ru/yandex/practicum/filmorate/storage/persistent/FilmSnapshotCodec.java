@@ -0,0 +1,69 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+public class FilmSnapshotCodec implements SnapshotCodec<Film> {
+
+    static final int MAGIC = 0x464C4D53;
+
+    @Override
+    public void write(Collection<Film> entities, Path path) throws IOException {
+        List<Film> films = List.copyOf(entities);
+        int size = films.size();
+        SnapshotWriter writer = new SnapshotWriter(MAGIC, size);
+        int[] ids = new int[size];
+        long[] versions = new long[size];
+        int[] names = new int[size];
+        int[] descriptions = new int[size];
+        long[] releaseDates = new long[size];
+        long[] durations = new long[size];
+        for (int i = 0; i < size; i++) {
+            Film film = films.get(i);
+            ids[i] = film.getId();
+            versions[i] = film.getVersion();
+            names[i] = writer.ref(film.getName());
+            descriptions[i] = writer.ref(film.getDescription());
+            releaseDates[i] = SnapshotWriter.epochDay(film.getReleaseDate());
+            durations[i] = SnapshotWriter.seconds(film.getDuration());
+        }
+        writer.ints(ids)
+                .longs(versions)
+                .ints(names)
+                .ints(descriptions)
+                .longs(releaseDates)
+                .longs(durations)
+                .writeTo(path);
+    }
+
+    @Override
+    public void read(Path path, Consumer<Film> consumer) throws IOException {
+        SnapshotReader reader = new SnapshotReader(path, MAGIC);
+        IntBuffer ids = reader.ints();
+        LongBuffer versions = reader.version() >= 2 ? reader.longs() : null;
+        IntBuffer names = reader.ints();
+        IntBuffer descriptions = reader.ints();
+        IntToLongFunction releaseDates = reader.dates();
+        LongBuffer durations = reader.longs();
+        IntStream.range(0, reader.count())
+                .parallel()
+                .mapToObj(i -> Film.builder()
+                        .id(ids.get(i))
+                        .version(versions == null ? 1 : versions.get(i))
+                        .name(reader.string(names.get(i)))
+                        .description(reader.string(descriptions.get(i)))
+                        .releaseDate(SnapshotReader.date(releaseDates.applyAsLong(i)))
+                        .duration(SnapshotReader.duration(durations.get(i)))
+                        .build())
+                .forEachOrdered(consumer);
+    }
+}
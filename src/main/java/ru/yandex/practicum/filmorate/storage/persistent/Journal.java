@@ -0,0 +1,346 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import ru.yandex.practicum.filmorate.exception.StorageException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Журнал упреждающей записи: каждая мутация пишется в конец текущего сегмента полным состоянием сущности
+ * в формате NDJSON. Записи сбрасываются на диск пачками одним fsync. Каждые {@code snapshotInterval} записей
+ * сегмент ротируется, текущее состояние сохраняется в компактный двоичный снимок, а старые сегменты удаляются.
+ *
+ * <p>Запись сбрасывается на диск раньше, чем сущность попадает в память, поэтому снимок, снятый сразу после
+ * ротации, мог бы не увидеть уже записанную в старый сегмент сущность, а сегмент был бы удалён. Изменения
+ * выполняются через {@link #mutate}, и перед снимком журнал дожидается всех изменений, начатых до ротации.
+ */
+@Slf4j
+public class Journal<T> implements AutoCloseable {
+
+    private static final int MAX_BATCH = 1024;
+    private static final long POLL_INTERVAL_MS = 50;
+    private static final String SEGMENT_SUFFIX = ".wal";
+    private static final String SNAPSHOT_SUFFIX = ".snapshot";
+
+    private final Path dir;
+    private final String name;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final SnapshotCodec<T> snapshotCodec;
+    private final boolean sync;
+    private final int snapshotInterval;
+    private final BlockingQueue<Entry> queue = new LinkedBlockingQueue<>();
+    private final ExecutorService snapshotExecutor;
+    private final ReadWriteLock mutations = new ReentrantReadWriteLock();
+
+    private Thread writerThread;
+    private Supplier<Collection<T>> snapshotSource;
+    private FileChannel segment;
+    private long segmentNumber;
+    private long recordsSinceSnapshot;
+    private volatile boolean running;
+
+    public Journal(Path dir, String name, ObjectMapper objectMapper, Class<T> type, SnapshotCodec<T> snapshotCodec,
+                   boolean sync, int snapshotInterval) {
+        this.dir = dir;
+        this.name = name;
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.readerFor(type);
+        this.snapshotCodec = snapshotCodec;
+        this.sync = sync;
+        this.snapshotInterval = snapshotInterval;
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-snapshot-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Восстанавливает состояние из снимка и всех сегментов журнала по порядку.
+     * Строки разбираются параллельно, а применяются в исходном порядке.
+     */
+    public void replay(Consumer<T> consumer) {
+        try {
+            Files.createDirectories(dir);
+            Files.deleteIfExists(snapshotTmpPath());
+            long started = System.nanoTime();
+            AtomicLong records = new AtomicLong();
+            Consumer<T> counting = entity -> {
+                consumer.accept(entity);
+                records.incrementAndGet();
+            };
+            Path snapshot = snapshotPath();
+            if (Files.exists(snapshot)) {
+                if (isNdjson(snapshot)) {
+                    replaySegment(snapshot, counting);
+                } else {
+                    snapshotCodec.read(snapshot, counting);
+                }
+            }
+            for (Path path : segments()) {
+                replaySegment(path, counting);
+            }
+            log.info("Журнал {} восстановлен: {} записей за {} мс", name, records.get(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException e) {
+            throw new StorageException("Не удалось восстановить журнал " + name, e);
+        }
+    }
+
+    public void start(Supplier<Collection<T>> snapshotSource) {
+        this.snapshotSource = snapshotSource;
+        try {
+            List<Path> existing = segments();
+            segmentNumber = existing.isEmpty() ? 0 : segmentNumber(existing.getLast());
+            openSegment(segmentNumber + 1);
+        } catch (IOException e) {
+            throw new StorageException("Не удалось открыть журнал " + name, e);
+        }
+        running = true;
+        writerThread = new Thread(this::writeLoop, "journal-writer-" + name);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Выполняет изменение: запись в журнал и применение к состоянию в памяти. Изменения не мешают друг другу,
+     * а снимок начинается только после того, как все начатые изменения применены.
+     */
+    public <R> R mutate(Supplier<R> mutation) {
+        mutations.readLock().lock();
+        try {
+            return mutation.get();
+        } finally {
+            mutations.readLock().unlock();
+        }
+    }
+
+    /**
+     * Сериализует текущее состояние сущности и ставит его в очередь на запись. Вызывается внутри {@link #mutate}.
+     * Должен вызываться под блокировкой сущности или до её публикации, чтобы порядок записей совпадал
+     * с порядком изменений.
+     */
+    public CompletableFuture<Void> append(T entity) {
+        if (!running) {
+            throw new StorageException("Журнал " + name + " закрыт");
+        }
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(entity);
+        } catch (IOException e) {
+            throw new StorageException("Не удалось сериализовать запись журнала " + name, e);
+        }
+        Entry entry = new Entry(bytes, new CompletableFuture<>());
+        queue.add(entry);
+        return entry.done();
+    }
+
+    /**
+     * Ждёт, пока запись будет сброшена на диск.
+     */
+    public static void await(CompletableFuture<Void> written) {
+        try {
+            written.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof StorageException storageException) {
+                throw storageException;
+            }
+            throw new StorageException("Ошибка записи в журнал", e.getCause());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        try {
+            writerThread.join();
+            snapshotExecutor.shutdown();
+            snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        StorageException closed = new StorageException("Журнал " + name + " закрыт");
+        for (Entry entry = queue.poll(); entry != null; entry = queue.poll()) {
+            entry.done().completeExceptionally(closed);
+        }
+        try {
+            segment.close();
+        } catch (IOException e) {
+            log.error("Не удалось закрыть журнал {}", name, e);
+        }
+    }
+
+    private void writeLoop() {
+        List<Entry> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Entry first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<Entry> batch) {
+        try {
+            int size = 0;
+            for (Entry entry : batch) {
+                size += entry.bytes().length + 1;
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            for (Entry entry : batch) {
+                buffer.put(entry.bytes()).put((byte) '\n');
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                segment.write(buffer);
+            }
+            if (sync) {
+                segment.force(false);
+            }
+            batch.forEach(entry -> entry.done().complete(null));
+            recordsSinceSnapshot += batch.size();
+            if (snapshotInterval > 0 && recordsSinceSnapshot >= snapshotInterval) {
+                rotate();
+            }
+        } catch (IOException e) {
+            log.error("Ошибка записи в журнал {}", name, e);
+            StorageException exception = new StorageException("Ошибка записи в журнал " + name, e);
+            batch.forEach(entry -> entry.done().completeExceptionally(exception));
+        }
+    }
+
+    private void rotate() throws IOException {
+        long snapshotFrom = segmentNumber + 1;
+        segment.close();
+        openSegment(snapshotFrom);
+        recordsSinceSnapshot = 0;
+        snapshotExecutor.execute(() -> writeSnapshot(snapshotFrom));
+    }
+
+    private void writeSnapshot(long firstRetainedSegment) {
+        Path tmp = snapshotTmpPath();
+        try {
+            // все записи удаляемых сегментов поставлены в очередь до ротации; дожидаемся, пока они применены
+            mutations.writeLock().lock();
+            mutations.writeLock().unlock();
+            snapshotCodec.write(snapshotSource.get(), tmp);
+            try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(tmp, snapshotPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            for (Path path : segments()) {
+                if (segmentNumber(path) < firstRetainedSegment) {
+                    Files.delete(path);
+                }
+            }
+            log.info("Снимок журнала {} записан", name);
+        } catch (IOException e) {
+            log.error("Не удалось записать снимок журнала {}", name, e);
+        }
+    }
+
+    private void replaySegment(Path path, Consumer<T> consumer) throws IOException {
+        List<String> lines = Files.readAllLines(path);
+        lines.parallelStream()
+                .map(line -> parse(path, line))
+                .filter(Objects::nonNull)
+                .forEachOrdered(consumer);
+    }
+
+    /**
+     * Снимки, записанные до перехода на двоичный формат, хранят сущности в NDJSON, как и сегменты журнала.
+     * Двоичный снимок всегда начинается с непустого заголовка, а NDJSON — с «{» или пуст.
+     */
+    private static boolean isNdjson(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            int first = in.read();
+            return first == -1 || first == '{';
+        }
+    }
+
+    private T parse(Path path, String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return reader.readValue(line);
+        } catch (IOException e) {
+            log.warn("Пропущена повреждённая запись в {}: {}", path.getFileName(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void openSegment(long number) throws IOException {
+        segmentNumber = number;
+        segment = FileChannel.open(dir.resolve(String.format("%s-%019d%s", name, number, SEGMENT_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files
+                    .filter(path -> {
+                        String fileName = path.getFileName().toString();
+                        return fileName.startsWith(name + "-") && fileName.endsWith(SEGMENT_SUFFIX);
+                    })
+                    .sorted(Comparator.comparingLong(this::segmentNumber))
+                    .toList();
+        }
+    }
+
+    private long segmentNumber(Path path) {
+        String fileName = path.getFileName().toString();
+        return Long.parseLong(fileName.substring(name.length() + 1, fileName.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private Path snapshotPath() {
+        return dir.resolve(name + SNAPSHOT_SUFFIX);
+    }
+
+    private Path snapshotTmpPath() {
+        return dir.resolve(name + SNAPSHOT_SUFFIX + ".tmp");
+    }
+
+    private record Entry(byte[] bytes, CompletableFuture<Void> done) {
+    }
+}
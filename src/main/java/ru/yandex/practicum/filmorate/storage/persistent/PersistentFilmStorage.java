@@ -0,0 +1,119 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "persistent")
+public class PersistentFilmStorage implements FilmStorage {
+
+    private final InMemoryFilmStorage delegate = new InMemoryFilmStorage();
+    private final Journal<Film> journal;
+
+    public PersistentFilmStorage(ObjectMapper objectMapper,
+                                @Value("${filmorate.storage.persistent.dir:data}") Path dir,
+                                @Value("${filmorate.storage.persistent.sync:true}") boolean sync,
+                                @Value("${filmorate.storage.persistent.snapshot-interval:100000}") int snapshotInterval) {
+        journal = new Journal<>(dir, "films", objectMapper, Film.class, new FilmSnapshotCodec(), sync, snapshotInterval);
+        journal.replay(film -> {
+            // записи журнала и снимки NDJSON, сделанные до появления версий, читаются с версией 0
+            if (film.getVersion() == 0) {
+                film.setVersion(1);
+            }
+            delegate.restore(film);
+        });
+        journal.start(delegate::findAll);
+    }
+
+    @Override
+    public Collection<Film> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<Film> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Film> findByIds(Collection<Integer> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public List<Film> findPage(int afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public List<Film> findByReleaseDate(LocalDate from, LocalDate to) {
+        return delegate.findByReleaseDate(from, to);
+    }
+
+    @Override
+    public List<Film> findByDuration(Duration min, Duration max) {
+        return delegate.findByDuration(min, max);
+    }
+
+    /**
+     * Запись попадает в память только после того, как сброшена в журнал: при ошибке записи
+     * клиент получает ошибку, а запись не сохраняется ни в памяти, ни после перезапуска.
+     */
+    @Override
+    public Film create(Film film, Consumer<Film> onCommit) {
+        return journal.mutate(() -> delegate.create(film, created -> {
+            Journal.await(journal.append(created));
+            onCommit.accept(created);
+        }));
+    }
+
+    @Override
+    public List<Film> createAll(List<Film> films, Consumer<List<Film>> onCommit) {
+        return journal.mutate(() -> delegate.createAll(films, created -> {
+            List<CompletableFuture<Void>> written = new ArrayList<>(created.size());
+            for (Film film : created) {
+                written.add(journal.append(film));
+            }
+            written.forEach(Journal::await);
+            onCommit.accept(created);
+        }));
+    }
+
+    /**
+     * Как и при создании, новая версия публикуется только после сброса в журнал. Блокировку сущности
+     * держит хранилище в памяти, и ожидание записи под ней сохраняет порядок версий в журнале.
+     */
+    @Override
+    public Optional<Film> update(int id, Consumer<Film> updater, Consumer<Film> onCommit) {
+        return journal.mutate(() -> delegate.update(id, updater, film -> {
+            Journal.await(journal.append(film));
+            onCommit.accept(film);
+        }));
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+}
@@ -0,0 +1,117 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+import ru.yandex.practicum.filmorate.storage.user.UserStorage;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "persistent")
+public class PersistentUserStorage implements UserStorage {
+
+    private final InMemoryUserStorage delegate = new InMemoryUserStorage();
+    private final Journal<User> journal;
+
+    public PersistentUserStorage(ObjectMapper objectMapper,
+                                @Value("${filmorate.storage.persistent.dir:data}") Path dir,
+                                @Value("${filmorate.storage.persistent.sync:true}") boolean sync,
+                                @Value("${filmorate.storage.persistent.snapshot-interval:100000}") int snapshotInterval) {
+        journal = new Journal<>(dir, "users", objectMapper, User.class, new UserSnapshotCodec(), sync, snapshotInterval);
+        journal.replay(user -> {
+            // записи журнала и снимки NDJSON, сделанные до появления версий, читаются с версией 0
+            if (user.getVersion() == 0) {
+                user.setVersion(1);
+            }
+            delegate.restore(user);
+        });
+        journal.start(delegate::findAll);
+    }
+
+    @Override
+    public Collection<User> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public Optional<User> findById(int id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<User> findByIds(Collection<Integer> ids) {
+        return delegate.findByIds(ids);
+    }
+
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        return delegate.findPage(afterId, limit);
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+
+    @Override
+    public Optional<User> findByLogin(String login) {
+        return delegate.findByLogin(login);
+    }
+
+    /**
+     * Запись попадает в память только после того, как сброшена в журнал: при ошибке записи
+     * клиент получает ошибку, а запись не сохраняется ни в памяти, ни после перезапуска.
+     */
+    @Override
+    public User create(User user, Consumer<User> onCommit) {
+        return journal.mutate(() -> delegate.create(user, created -> {
+            Journal.await(journal.append(created));
+            onCommit.accept(created);
+        }));
+    }
+
+    @Override
+    public List<User> createAll(List<User> users, Consumer<List<User>> onCommit) {
+        return journal.mutate(() -> delegate.createAll(users, created -> {
+            List<CompletableFuture<Void>> written = new ArrayList<>(created.size());
+            for (User user : created) {
+                written.add(journal.append(user));
+            }
+            written.forEach(Journal::await);
+            onCommit.accept(created);
+        }));
+    }
+
+    /**
+     * Как и при создании, новая версия публикуется только после сброса в журнал. Блокировку сущности
+     * держит хранилище в памяти, и ожидание записи под ней сохраняет порядок версий в журнале.
+     */
+    @Override
+    public Optional<User> update(int id, Consumer<User> updater, Consumer<User> onCommit) {
+        return journal.mutate(() -> delegate.update(id, updater, user -> {
+            Journal.await(journal.append(user));
+            onCommit.accept(user);
+        }));
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @PreDestroy
+    public void close() {
+        journal.close();
+    }
+}
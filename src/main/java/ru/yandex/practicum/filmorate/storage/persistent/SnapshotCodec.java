@@ -0,0 +1,13 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+public interface SnapshotCodec<T> {
+
+    void write(Collection<T> entities, Path path) throws IOException;
+
+    void read(Path path, Consumer<T> consumer) throws IOException;
+}
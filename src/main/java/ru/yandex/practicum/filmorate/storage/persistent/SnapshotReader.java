@@ -0,0 +1,95 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import ru.yandex.practicum.filmorate.exception.StorageException;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Читает снимок, записанный {@link SnapshotWriter}, через отображение файла в память.
+ * Колонки отдаются как буферы поверх отображения и безопасны для параллельного чтения по индексу.
+ * Принимаются все версии формата до текущей; какие колонки в них есть, решает кодек по {@link #version()}.
+ */
+public class SnapshotReader {
+
+    private final MappedByteBuffer buffer;
+    private final String[] strings;
+    private final int version;
+    private final int count;
+    private int position;
+
+    public SnapshotReader(Path path, int magic) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        version = buffer.getInt(4);
+        if (buffer.getInt(0) != magic || version < 1 || version > SnapshotWriter.VERSION) {
+            throw new StorageException("Неизвестный формат снимка " + path.getFileName());
+        }
+        count = buffer.getInt(8);
+        strings = new String[buffer.getInt(12)];
+        position = 16;
+        for (int i = 0; i < strings.length; i++) {
+            int length = buffer.getInt(position);
+            byte[] bytes = new byte[length];
+            buffer.get(position + Integer.BYTES, bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += Integer.BYTES + length;
+        }
+    }
+
+    public int version() {
+        return version;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    public IntBuffer ints() {
+        IntBuffer column = buffer.slice(position, count * Integer.BYTES).asIntBuffer();
+        position += count * Integer.BYTES;
+        return column;
+    }
+
+    public LongBuffer longs() {
+        LongBuffer column = buffer.slice(position, count * Long.BYTES).asLongBuffer();
+        position += count * Long.BYTES;
+        return column;
+    }
+
+    /**
+     * Колонка дат: с версии 3 — номера дней в long, в более ранних версиях — в int.
+     */
+    public IntToLongFunction dates() {
+        if (version >= 3) {
+            return longs()::get;
+        }
+        IntBuffer column = ints();
+        return i -> {
+            int epochDay = column.get(i);
+            return epochDay == SnapshotWriter.NULL_INT_DATE ? SnapshotWriter.NULL_DATE : epochDay;
+        };
+    }
+
+    public String string(int ref) {
+        return ref == SnapshotWriter.NULL_REF ? null : strings[ref];
+    }
+
+    public static LocalDate date(long epochDay) {
+        return epochDay == SnapshotWriter.NULL_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    public static Duration duration(long seconds) {
+        return seconds == SnapshotWriter.NULL_DURATION ? null : Duration.ofSeconds(seconds);
+    }
+}
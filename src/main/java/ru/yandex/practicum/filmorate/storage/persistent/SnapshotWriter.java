@@ -0,0 +1,95 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Колоночный снимок: заголовок, общий словарь строк, затем колонки фиксированной ширины.
+ * Строки хранятся ссылками на словарь, даты — номером дня эпохи, длительности — секундами.
+ */
+public class SnapshotWriter {
+
+    /**
+     * 1 — исходный формат, 2 — добавлена колонка версий сущностей после id, 3 — даты хранятся в long:
+     * номер дня эпохи для допустимой {@link LocalDate} может не поместиться в int.
+     */
+    static final int VERSION = 3;
+    static final int NULL_REF = -1;
+    static final long NULL_DATE = Long.MIN_VALUE;
+    static final int NULL_INT_DATE = Integer.MIN_VALUE;
+    static final long NULL_DURATION = Long.MIN_VALUE;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final List<String> strings = new ArrayList<>();
+    private final List<Object> columns = new ArrayList<>();
+    private final int magic;
+    private final int count;
+
+    public SnapshotWriter(int magic, int count) {
+        this.magic = magic;
+        this.count = count;
+    }
+
+    public int ref(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        return dictionary.computeIfAbsent(value, key -> {
+            strings.add(key);
+            return strings.size() - 1;
+        });
+    }
+
+    public static long epochDay(LocalDate date) {
+        return date == null ? NULL_DATE : date.toEpochDay();
+    }
+
+    public static long seconds(Duration duration) {
+        return duration == null ? NULL_DURATION : duration.getSeconds();
+    }
+
+    public SnapshotWriter ints(int[] column) {
+        columns.add(column);
+        return this;
+    }
+
+    public SnapshotWriter longs(long[] column) {
+        columns.add(column);
+        return this;
+    }
+
+    public void writeTo(Path path) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 1 << 16))) {
+            out.writeInt(magic);
+            out.writeInt(VERSION);
+            out.writeInt(count);
+            out.writeInt(strings.size());
+            for (String value : strings) {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            for (Object column : columns) {
+                if (column instanceof int[] ints) {
+                    for (int value : ints) {
+                        out.writeInt(value);
+                    }
+                } else {
+                    for (long value : (long[]) column) {
+                        out.writeLong(value);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+public class UserSnapshotCodec implements SnapshotCodec<User> {
+
+    static final int MAGIC = 0x55535253;
+
+    @Override
+    public void write(Collection<User> entities, Path path) throws IOException {
+        List<User> users = List.copyOf(entities);
+        int size = users.size();
+        SnapshotWriter writer = new SnapshotWriter(MAGIC, size);
+        int[] ids = new int[size];
+        long[] versions = new long[size];
+        int[] emails = new int[size];
+        int[] logins = new int[size];
+        int[] names = new int[size];
+        long[] birthdays = new long[size];
+        for (int i = 0; i < size; i++) {
+            User user = users.get(i);
+            ids[i] = user.getId();
+            versions[i] = user.getVersion();
+            emails[i] = writer.ref(user.getEmail());
+            logins[i] = writer.ref(user.getLogin());
+            names[i] = writer.ref(user.getName());
+            birthdays[i] = SnapshotWriter.epochDay(user.getBirthday());
+        }
+        writer.ints(ids)
+                .longs(versions)
+                .ints(emails)
+                .ints(logins)
+                .ints(names)
+                .longs(birthdays)
+                .writeTo(path);
+    }
+
+    @Override
+    public void read(Path path, Consumer<User> consumer) throws IOException {
+        SnapshotReader reader = new SnapshotReader(path, MAGIC);
+        IntBuffer ids = reader.ints();
+        LongBuffer versions = reader.version() >= 2 ? reader.longs() : null;
+        IntBuffer emails = reader.ints();
+        IntBuffer logins = reader.ints();
+        IntBuffer names = reader.ints();
+        IntToLongFunction birthdays = reader.dates();
+        IntStream.range(0, reader.count())
+                .parallel()
+                .mapToObj(i -> User.builder()
+                        .id(ids.get(i))
+                        .version(versions == null ? 1 : versions.get(i))
+                        .email(reader.string(emails.get(i)))
+                        .login(reader.string(logins.get(i)))
+                        .name(reader.string(names.get(i)))
+                        .birthday(SnapshotReader.date(birthdays.applyAsLong(i)))
+                        .build())
+                .forEachOrdered(consumer);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.yandex.practicum.filmorate.storage.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import ru.yandex.practicum.filmorate.model.Versioned;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+
+/**
+ * {@link ReactiveStorage} поверх синхронного хранилища. Обращения к хранилищу выполняются на переданном
+ * планировщике: для хранилища в памяти это может быть {@code Schedulers.immediate()}, для JDBC и журнала
+ * на диске — пул для блокирующих операций, чтобы не занимать потоки ввода-вывода сервера.
+ *
+ * <p>Полная выборка читается страницами по {@link #PAGE_SIZE}; следующая страница запрашивается,
+ * когда подписчик разобрал предыдущую, поэтому в памяти находится не больше одной страницы на подписчика.
+ */
+public class BlockingStorageAdapter<T extends Versioned> implements ReactiveStorage<T> {
+
+    static final int PAGE_SIZE = 256;
+
+    @FunctionalInterface
+    public interface PageReader<T> {
+        List<T> findPage(int afterId, int limit);
+    }
+
+    private final PageReader<T> pageReader;
+    private final IntFunction<Optional<T>> finder;
+    private final IntSupplier counter;
+    private final Scheduler scheduler;
+
+    public BlockingStorageAdapter(PageReader<T> pageReader, IntFunction<Optional<T>> finder, IntSupplier counter,
+                                  Scheduler scheduler) {
+        this.pageReader = pageReader;
+        this.finder = finder;
+        this.counter = counter;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public Flux<T> findAll() {
+        return readPage(0)
+                .expand(page -> page.size() < PAGE_SIZE ? Mono.empty() : readPage(page.getLast().getId()))
+                .flatMapIterable(Function.identity(), 1);
+    }
+
+    @Override
+    public Mono<T> findById(int id) {
+        return Mono.fromCallable(() -> finder.apply(id))
+                .subscribeOn(scheduler)
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Mono<Integer> size() {
+        return Mono.fromCallable(counter::getAsInt).subscribeOn(scheduler);
+    }
+
+    private Mono<List<T>> readPage(int afterId) {
+        return Mono.fromCallable(() -> pageReader.findPage(afterId, PAGE_SIZE)).subscribeOn(scheduler);
+    }
+}
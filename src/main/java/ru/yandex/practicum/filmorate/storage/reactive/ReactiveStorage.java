@@ -0,0 +1,21 @@
+package ru.yandex.practicum.filmorate.storage.reactive;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.yandex.practicum.filmorate.model.Versioned;
+
+/**
+ * Неблокирующее чтение сущностей. Потоки {@link Flux} ленивые: следующая порция читается из хранилища
+ * только по запросу подписчика.
+ */
+public interface ReactiveStorage<T extends Versioned> {
+
+    /**
+     * Все сущности по возрастанию id.
+     */
+    Flux<T> findAll();
+
+    Mono<T> findById(int id);
+
+    Mono<Integer> size();
+}
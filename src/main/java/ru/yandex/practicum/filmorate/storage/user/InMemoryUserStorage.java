@@ -0,0 +1,245 @@
+package ru.yandex.practicum.filmorate.storage.user;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.yandex.practicum.filmorate.exception.DuplicateException;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.storage.AtomicIdGenerator;
+import ru.yandex.practicum.filmorate.storage.IdGenerator;
+import ru.yandex.practicum.filmorate.storage.StripedLock;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Хранит пользователей в упорядоченной по id карте. Уникальность почты и логина без учёта регистра
+ * обеспечивают хеш-индексы нормализованный ключ → id: ключ захватывается через putIfAbsent до записи
+ * в основную карту, поэтому дубликат отклоняется за O(1) без общей блокировки.
+ */
+@Component
+@ConditionalOnProperty(name = "filmorate.storage.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryUserStorage implements UserStorage {
+
+    private final ConcurrentNavigableMap<Integer, User> users = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+    private final StripedLock locks = new StripedLock();
+    private final Map<String, Integer> emails = new ConcurrentHashMap<>();
+    private final Map<String, Integer> logins = new ConcurrentHashMap<>();
+
+    @Override
+    public Collection<User> findAll() {
+        return Collections.unmodifiableCollection(users.values());
+    }
+
+    @Override
+    public Optional<User> findById(int id) {
+        return Optional.ofNullable(users.get(id));
+    }
+
+    @Override
+    public List<User> findByIds(Collection<Integer> ids) {
+        return ids.stream()
+                .map(users::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public List<User> findPage(int afterId, int limit) {
+        return users.tailMap(afterId, false)
+                .values()
+                .stream()
+                .limit(limit)
+                .toList();
+    }
+
+    @Override
+    public Optional<User> findByEmail(String email) {
+        return Optional.ofNullable(emails.get(UserStorage.normalizeKey(email))).map(users::get);
+    }
+
+    @Override
+    public Optional<User> findByLogin(String login) {
+        return Optional.ofNullable(logins.get(UserStorage.normalizeKey(login))).map(users::get);
+    }
+
+    @Override
+    public User create(User user, Consumer<User> onCommit) {
+        checkKeysAvailable(user);
+        user.setId(idGenerator.nextId());
+        claimKeys(user);
+        try {
+            locks.withLock(user.getId(), () -> {
+                onCommit.accept(user);
+                return users.put(user.getId(), user);
+            });
+        } catch (RuntimeException e) {
+            releaseKeys(user);
+            throw e;
+        }
+        size.incrementAndGet();
+        return user;
+    }
+
+    /**
+     * Пока пользователи пачки не опубликованы, их id никому не известны, поэтому обновление не может
+     * вклиниться между {@code onCommit} и публикацией.
+     */
+    @Override
+    public List<User> createAll(List<User> users, Consumer<List<User>> onCommit) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        int id = idGenerator.reserve(users.size());
+        for (int i = 0; i < users.size(); i++) {
+            User user = users.get(i);
+            user.setId(id++);
+            try {
+                claimKeys(user);
+            } catch (DuplicateException e) {
+                users.subList(0, i).forEach(this::releaseKeys);
+                throw e;
+            }
+        }
+        try {
+            onCommit.accept(users);
+        } catch (RuntimeException e) {
+            users.forEach(this::releaseKeys);
+            throw e;
+        }
+        for (User user : users) {
+            this.users.put(user.getId(), user);
+        }
+        size.addAndGet(users.size());
+        return users;
+    }
+
+    @Override
+    public Optional<User> update(int id, Consumer<User> updater, Consumer<User> onCommit) {
+        return locks.withLock(id, () -> {
+            User oldUser = users.get(id);
+            if (oldUser == null) {
+                return Optional.empty();
+            }
+            User newUser = copy(oldUser);
+            updater.accept(newUser);
+            claimKeys(newUser);
+            try {
+                onCommit.accept(newUser);
+            } catch (RuntimeException e) {
+                release(emails, newUser.getEmail(), oldUser.getEmail(), id);
+                release(logins, newUser.getLogin(), oldUser.getLogin(), id);
+                throw e;
+            }
+            release(emails, oldUser.getEmail(), newUser.getEmail(), id);
+            release(logins, oldUser.getLogin(), newUser.getLogin(), id);
+            users.put(id, newUser);
+            return Optional.of(newUser);
+        });
+    }
+
+    public void restore(User user) {
+        User previous = users.put(user.getId(), user);
+        if (previous == null) {
+            size.incrementAndGet();
+        } else {
+            releaseKeys(previous);
+        }
+        putKey(emails, user.getEmail(), user.getId());
+        putKey(logins, user.getLogin(), user.getId());
+        idGenerator.advanceTo(user.getId());
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Проверяет почту и логин без захвата, чтобы заведомый дубликат не расходовал id.
+     */
+    private void checkKeysAvailable(User user) {
+        if (user.getEmail() != null && emails.containsKey(UserStorage.normalizeKey(user.getEmail()))) {
+            throw new DuplicateException("Электронная почта " + user.getEmail() + " уже используется");
+        }
+        if (user.getLogin() != null && logins.containsKey(UserStorage.normalizeKey(user.getLogin()))) {
+            throw new DuplicateException("Логин " + user.getLogin() + " уже используется");
+        }
+    }
+
+    /**
+     * Захватывает почту и логин пользователя. Если логин занят, уже захваченная почта освобождается.
+     */
+    private void claimKeys(User user) {
+        boolean emailClaimed = claim(emails, user.getEmail(), user.getId(),
+                "Электронная почта " + user.getEmail() + " уже используется");
+        try {
+            claim(logins, user.getLogin(), user.getId(), "Логин " + user.getLogin() + " уже используется");
+        } catch (DuplicateException e) {
+            if (emailClaimed) {
+                emails.remove(UserStorage.normalizeKey(user.getEmail()), user.getId());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Возвращает true, если ключ захвачен этим вызовом, и false, если он уже принадлежал тому же id.
+     */
+    private static boolean claim(Map<String, Integer> index, String value, int id, String message) {
+        if (value == null) {
+            return false;
+        }
+        Integer owner = index.putIfAbsent(UserStorage.normalizeKey(value), id);
+        if (owner == null) {
+            return true;
+        }
+        if (owner != id) {
+            throw new DuplicateException(message);
+        }
+        return false;
+    }
+
+    private void releaseKeys(User user) {
+        release(emails, user.getEmail(), null, user.getId());
+        release(logins, user.getLogin(), null, user.getId());
+    }
+
+    private static void release(Map<String, Integer> index, String oldValue, String newValue, int id) {
+        String oldKey = UserStorage.normalizeKey(oldValue);
+        if (oldKey != null && !oldKey.equals(UserStorage.normalizeKey(newValue))) {
+            index.remove(oldKey, id);
+        }
+    }
+
+    private static void putKey(Map<String, Integer> index, String value, int id) {
+        if (value != null) {
+            index.put(UserStorage.normalizeKey(value), id);
+        }
+    }
+
+    /**
+     * Изменения применяются к копии, которая затем заменяет сохранённого пользователя: при занятой почте
+     * или логине он остаётся прежним, а выданные читателям экземпляры никогда не меняются.
+     */
+    private static User copy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .version(user.getVersion())
+                .email(user.getEmail())
+                .login(user.getLogin())
+                .name(user.getName())
+                .birthday(user.getBirthday())
+                .build();
+    }
+}
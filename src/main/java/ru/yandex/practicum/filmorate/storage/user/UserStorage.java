@@ -0,0 +1,80 @@
+package ru.yandex.practicum.filmorate.storage.user;
+
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface UserStorage {
+
+    Collection<User> findAll();
+
+    Optional<User> findById(int id);
+
+    /**
+     * Возвращает найденные записи с указанными id за один проход по хранилищу, в произвольном порядке.
+     */
+    List<User> findByIds(Collection<Integer> ids);
+
+    /**
+     * Возвращает не более {@code limit} записей с id больше {@code afterId} в порядке возрастания id.
+     */
+    List<User> findPage(int afterId, int limit);
+
+    /**
+     * Ищет пользователя по электронной почте без учёта регистра.
+     */
+    Optional<User> findByEmail(String email);
+
+    /**
+     * Ищет пользователя по логину без учёта регистра.
+     */
+    Optional<User> findByLogin(String login);
+
+    default User create(User user) {
+        return create(user, created -> {
+        });
+    }
+
+    /**
+     * Сохраняет пользователя или бросает {@link ru.yandex.practicum.filmorate.exception.DuplicateException},
+     * если его электронная почта или логин уже заняты. {@code onCommit} вызывается в критической секции id,
+     * до того как запись станет видна другим запросам; если он бросает исключение, пользователь не сохраняется.
+     */
+    User create(User user, Consumer<User> onCommit);
+
+    default List<User> createAll(List<User> users) {
+        return createAll(users, created -> {
+        });
+    }
+
+    /**
+     * Сохраняет пачку записей, выделяя им непрерывный блок идентификаторов, и вызывает {@code onCommit}
+     * до того, как записи станут видны другим запросам. Если хотя бы одна почта или логин заняты
+     * или {@code onCommit} бросает исключение, не сохраняет ничего.
+     */
+    List<User> createAll(List<User> users, Consumer<List<User>> onCommit);
+
+    default Optional<User> update(int id, Consumer<User> updater) {
+        return update(id, updater, updated -> {
+        });
+    }
+
+    /**
+     * Атомарно применяет {@code updater} к копии сохранённого пользователя и заменяет его этой копией;
+     * ранее выданные экземпляры не меняются. {@code onCommit} получает новое состояние в той же
+     * критической секции, поэтому вызовы для одного id идут строго в порядке изменений.
+     * Возвращает пустой Optional, если пользователя с таким id нет, и не меняет пользователя,
+     * если новая почта или логин заняты другим пользователем или {@code onCommit} бросает исключение.
+     */
+    Optional<User> update(int id, Consumer<User> updater, Consumer<User> onCommit);
+
+    int size();
+
+    static String normalizeKey(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,10 @@
+package ru.yandex.practicum.filmorate.validation;
+
+import java.util.function.Predicate;
+
+/**
+ * Правило валидации: поле, код для метрик, сообщение об ошибке и проверка, которая возвращает {@code true}
+ * для корректного значения.
+ */
+public record Rule<T>(String field, String code, String message, Predicate<? super T> check) {
+}
@@ -0,0 +1,66 @@
+package ru.yandex.practicum.filmorate.validation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Декларативный набор правил. Проверяет все правила за один проход и складывает нарушения
+ * в переданный {@link Violations}, не бросая исключений и не собирая строк.
+ */
+public final class Validator<T> {
+
+    private final Rule<T>[] rules;
+
+    private Validator(Rule<T>[] rules) {
+        this.rules = rules;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Дописывает нарушения правил в {@code violations}.
+     *
+     * @return {@code true}, если значение прошло все правила
+     */
+    public boolean validate(T value, Violations violations) {
+        boolean valid = true;
+        for (Rule<T> rule : rules) {
+            if (!rule.check().test(value)) {
+                violations.add(rule);
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    public static final class Builder<T> {
+
+        private final List<Rule<T>> rules = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder<T> rule(String field, String code, String message, Predicate<? super T> check) {
+            rules.add(new Rule<>(field, code, message, check));
+            return this;
+        }
+
+        /**
+         * Добавляет все правила другого валидатора после уже объявленных.
+         */
+        public Builder<T> include(Validator<? super T> other) {
+            for (Rule<? super T> rule : other.rules) {
+                rules.add(new Rule<>(rule.field(), rule.code(), rule.message(), rule.check()));
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        public Validator<T> build() {
+            return new Validator<>(rules.toArray(new Rule[0]));
+        }
+    }
+}
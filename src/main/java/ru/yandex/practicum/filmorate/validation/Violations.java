@@ -0,0 +1,99 @@
+package ru.yandex.practicum.filmorate.validation;
+
+import ru.yandex.practicum.filmorate.model.FieldViolation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Нарушения, найденные за один проход валидатора. Хранит ссылки на сработавшие правила, поэтому
+ * добавление нарушения ничего не выделяет; после {@link #clear()} объект можно переиспользовать.
+ * Не потокобезопасен.
+ */
+public final class Violations {
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Rule<?>[] rules = new Rule<?>[INITIAL_CAPACITY];
+    private int size;
+
+    void add(Rule<?> rule) {
+        if (size == rules.length) {
+            rules = Arrays.copyOf(rules, size * 2);
+        }
+        rules[size++] = rule;
+    }
+
+    public void clear() {
+        Arrays.fill(rules, 0, size, null);
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String field(int index) {
+        return rule(index).field();
+    }
+
+    public String code(int index) {
+        return rule(index).code();
+    }
+
+    public String message(int index) {
+        return rule(index).message();
+    }
+
+    /**
+     * Сообщения всех нарушений через точку с запятой.
+     */
+    public String message() {
+        if (size == 1) {
+            return rules[0].message();
+        }
+        StringBuilder message = new StringBuilder();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                message.append("; ");
+            }
+            message.append(rules[i].message());
+        }
+        return message.toString();
+    }
+
+    public List<FieldViolation> toList() {
+        List<FieldViolation> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            list.add(new FieldViolation(rules[i].field(), rules[i].message()));
+        }
+        return list;
+    }
+
+    /**
+     * Копия для передачи за пределы прохода, после которого этот объект будет очищен.
+     */
+    public Violations copy() {
+        Violations copy = new Violations();
+        copy.rules = Arrays.copyOf(rules, Math.max(size, 1));
+        copy.size = size;
+        return copy;
+    }
+
+    private Rule<?> rule(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return rules[index];
+    }
+
+    @Override
+    public String toString() {
+        return toList().toString();
+    }
+}
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS films (
+    id               INTEGER PRIMARY KEY,
+    name             VARCHAR(255) NOT NULL,
+    description      VARCHAR(200),
+    release_date     DATE,
+    duration_seconds BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS films_release_date_idx ON films (release_date);
+CREATE INDEX IF NOT EXISTS films_duration_idx ON films (duration_seconds);
+
+CREATE TABLE IF NOT EXISTS users (
+    id       INTEGER PRIMARY KEY,
+    email    VARCHAR(255) NOT NULL,
+    login    VARCHAR(255) NOT NULL,
+    name     VARCHAR(255),
+    birthday DATE
+);
+
+CREATE INDEX IF NOT EXISTS users_email_idx ON users (email);
+CREATE INDEX IF NOT EXISTS users_login_idx ON users (login);
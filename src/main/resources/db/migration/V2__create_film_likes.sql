@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS film_likes (
+    film_id INTEGER NOT NULL REFERENCES films (id),
+    user_id INTEGER NOT NULL REFERENCES users (id),
+    PRIMARY KEY (film_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS film_likes_user_idx ON film_likes (user_id);
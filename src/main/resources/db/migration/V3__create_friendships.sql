@@ -0,0 +1,5 @@
+CREATE TABLE IF NOT EXISTS friendships (
+    user_id   INTEGER NOT NULL REFERENCES users (id),
+    friend_id INTEGER NOT NULL REFERENCES users (id),
+    PRIMARY KEY (user_id, friend_id)
+);
@@ -0,0 +1,8 @@
+ALTER TABLE users ADD COLUMN IF NOT EXISTS email_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(email));
+ALTER TABLE users ADD COLUMN IF NOT EXISTS login_key VARCHAR(255) GENERATED ALWAYS AS (LOWER(login));
+
+DROP INDEX IF EXISTS users_email_idx;
+DROP INDEX IF EXISTS users_login_idx;
+
+CREATE UNIQUE INDEX IF NOT EXISTS users_email_key_uq ON users (email_key);
+CREATE UNIQUE INDEX IF NOT EXISTS users_login_key_uq ON users (login_key);
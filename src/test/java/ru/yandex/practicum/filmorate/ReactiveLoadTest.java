@@ -0,0 +1,131 @@
+package ru.yandex.practicum.filmorate;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.yandex.practicum.filmorate.reactive.ReactiveServer;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Нагрузочное сравнение сервлетного и реактивного API одного приложения: одинаковая смесь запросов
+ * (полный список, чтение по id, обновление) при большом числе одновременных соединений. Размер коллекции
+ * не меняется во время прогона, поэтому запуски сравнимы между собой.
+ * Не входит в обычный прогон тестов: {@code mvn test -Dgroups=benchmark -DexcludedGroups=}
+ */
+@Tag("benchmark")
+class ReactiveLoadTest {
+
+    private static final int CONCURRENCY = 2000;
+    private static final int REQUESTS = 40_000;
+    private static final int PRELOADED = 500;
+    private static final String FILM = """
+            {"name": "Интерстеллар", "description": "Фантастика", "releaseDate": "2014-11-07", "duration": 10140}
+            """;
+
+    @Test
+    void compareServletAndReactive() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FilmorateApplication.class)
+                .run("--server.port=0",
+                        "--filmorate.reactive.enabled=true",
+                        "--filmorate.reactive.port=0",
+                        "--filmorate.storage.type=memory",
+                        "--filmorate.rate-limit.rate=0",
+                        "--filmorate.admission.max-concurrent=0",
+                        "--logging.level.ru.yandex.practicum.filmorate=WARN",
+                        "--logging.level.filmorate.mutations=WARN")) {
+            int servletPort = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            int reactivePort = context.getBean(ReactiveServer.class).port();
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            for (int i = 0; i < PRELOADED; i++) {
+                client.send(create(servletPort), HttpResponse.BodyHandlers.discarding());
+            }
+
+            run("servlet", client, servletPort);
+            run("reactive", client, reactivePort);
+            run("servlet", client, servletPort);
+            run("reactive", client, reactivePort);
+        }
+    }
+
+    private void run(String mode, HttpClient client, int port) throws InterruptedException {
+        HttpRequest list = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/films")).GET().build();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        long[] latencies = new long[REQUESTS];
+        AtomicInteger failures = new AtomicInteger();
+        long started = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Semaphore inFlight = new Semaphore(CONCURRENCY);
+            for (int i = 0; i < REQUESTS; i++) {
+                int index = i;
+                inFlight.acquire();
+                executor.submit(() -> {
+                    long requestStarted = System.nanoTime();
+                    try {
+                        HttpRequest request = switch (index % 10) {
+                            case 0 -> list;
+                            case 1, 2, 3 -> update(port, 1 + index % PRELOADED);
+                            default -> HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/films/"
+                                    + (1 + index % PRELOADED))).GET().build();
+                        };
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                    } finally {
+                        latencies[index] = System.nanoTime() - requestStarted;
+                        inFlight.release();
+                    }
+                });
+            }
+        }
+        long elapsed = System.nanoTime() - started;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-8s throughput: %8.0f req/s, p50: %6.1f ms, p99: %6.1f ms, peak threads: %4d, "
+                        + "failures: %d%n",
+                mode,
+                REQUESTS / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)),
+                latencies[REQUESTS / 2] / 1_000_000.0,
+                latencies[REQUESTS * 99 / 100] / 1_000_000.0,
+                threads.getPeakThreadCount(),
+                failures.get());
+        assertEquals(0, failures.get());
+    }
+
+    private static HttpRequest update(int port, int id) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/films"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString("{\"id\": " + id + ", \"duration\": " + (60 + id) + "}"))
+                .build();
+    }
+
+    private static HttpRequest create(int port) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/films"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(FILM))
+                .build();
+    }
+}
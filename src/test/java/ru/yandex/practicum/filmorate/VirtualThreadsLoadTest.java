@@ -0,0 +1,106 @@
+package ru.yandex.practicum.filmorate;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Нагрузочное сравнение пула потоков платформы и виртуальных потоков на хранилище с fsync-журналом.
+ * Не входит в обычный прогон тестов: {@code mvn test -Dgroups=benchmark -DexcludedGroups=}
+ */
+@Tag("benchmark")
+class VirtualThreadsLoadTest {
+
+    private static final int CONCURRENCY = 1000;
+    private static final int REQUESTS = 20_000;
+    private static final String FILM = """
+            {"name": "Интерстеллар", "description": "Фантастика", "releaseDate": "2014-11-07", "duration": 10140}
+            """;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws InterruptedException {
+        run("platform", false, dir.resolve("platform"));
+        run("virtual", true, dir.resolve("virtual"));
+    }
+
+    private void run(String mode, boolean virtualThreads, Path dataDir) throws InterruptedException {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(FilmorateApplication.class)
+                .run("--server.port=0",
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--filmorate.storage.type=persistent",
+                        "--filmorate.storage.persistent.dir=" + dataDir,
+                        "--filmorate.storage.persistent.sync=true",
+                        "--filmorate.rate-limit.rate=0",
+                        "--filmorate.admission.max-concurrent=0",
+                        "--logging.level.ru.yandex.practicum.filmorate=WARN")) {
+            int port = Integer.parseInt(context.getEnvironment().getProperty("local.server.port"));
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            HttpRequest create = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/films"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(FILM))
+                    .build();
+            HttpRequest read = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/films?limit=20"))
+                    .GET()
+                    .build();
+
+            long[] latencies = new long[REQUESTS];
+            AtomicInteger failures = new AtomicInteger();
+            long started = System.nanoTime();
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                Semaphore inFlight = new Semaphore(CONCURRENCY);
+                for (int i = 0; i < REQUESTS; i++) {
+                    int index = i;
+                    inFlight.acquire();
+                    executor.submit(() -> {
+                        long requestStarted = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(index % 4 == 0 ? read : create,
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        } finally {
+                            latencies[index] = System.nanoTime() - requestStarted;
+                            inFlight.release();
+                        }
+                    });
+                }
+            }
+            long elapsed = System.nanoTime() - started;
+
+            Arrays.sort(latencies);
+            System.out.printf("%-8s throughput: %8.0f req/s, p50: %6.1f ms, p99: %6.1f ms, failures: %d%n",
+                    mode,
+                    REQUESTS / (elapsed / (double) TimeUnit.SECONDS.toNanos(1)),
+                    latencies[REQUESTS / 2] / 1_000_000.0,
+                    latencies[REQUESTS * 99 / 100] / 1_000_000.0,
+                    failures.get());
+            assertEquals(0, failures.get());
+        }
+    }
+}
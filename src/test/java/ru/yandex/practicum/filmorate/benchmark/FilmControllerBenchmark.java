@@ -0,0 +1,74 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.controller.FilmController;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.like.InMemoryLikeStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FilmControllerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private FilmController filmController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryFilmStorage filmStorage = new InMemoryFilmStorage();
+        List<Film> films = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            films.add(film("Фильм " + i, Duration.ofMinutes(120)));
+        }
+        filmStorage.createAll(films);
+        filmController = new FilmController(new FilmService(filmStorage, new InMemoryUserStorage(), new InMemoryLikeStorage(),
+                event -> { }, MutationLog.disabled(), new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public Film create() {
+        return filmController.create(film("Интерстеллар", Duration.ofMinutes(169)));
+    }
+
+    @Benchmark
+    public Film update() {
+        Film film = film("Интерстеллар 2", Duration.ofMinutes(169));
+        film.setId(ThreadLocalRandom.current().nextInt(1, catalogSize + 1));
+        return filmController.update(film, null).getBody();
+    }
+
+    @Benchmark
+    public Object createInvalid() {
+        try {
+            return filmController.create(film("Интерстеллар", Duration.ZERO));
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    private Film film(String name, Duration duration) {
+        return Film.builder()
+                .name(name)
+                .description("Научно-фантастический фильм")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(duration)
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.serializer.CachedJsonHttpMessageConverter;
+import ru.yandex.practicum.filmorate.serializer.JsonBytesCache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class FilmSerializationBenchmark {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final List<Film> page = new ArrayList<>();
+    private final CachedJsonHttpMessageConverter cachedConverter = new CachedJsonHttpMessageConverter(
+            new JsonBytesCache(objectMapper, 64 * 1024 * 1024, new SimpleMeterRegistry()));
+    private Film film;
+    private byte[] filmJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        for (int i = 1; i <= 100; i++) {
+            page.add(Film.builder()
+                    .id(i)
+                    .name("Интерстеллар " + i)
+                    .description("Научно-фантастический фильм")
+                    .releaseDate(LocalDate.of(2014, 11, 7))
+                    .duration(Duration.ofMinutes(169))
+                    .build());
+        }
+        film = page.getFirst();
+        filmJson = objectMapper.writeValueAsBytes(film);
+    }
+
+    @Benchmark
+    public byte[] serializeFilm() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(film);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeCachedPage() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        cachedConverter.write(page, List.class, null, message);
+        return message.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public byte[] writeJacksonPage() throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        objectMapper.writeValue(message.getBody(), page);
+        return message.getBodyAsBytes();
+    }
+
+    @Benchmark
+    public Film deserializeFilm() throws IOException {
+        return objectMapper.readValue(filmJson, Film.class);
+    }
+}
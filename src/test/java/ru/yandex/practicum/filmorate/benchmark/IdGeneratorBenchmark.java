@@ -0,0 +1,33 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.storage.AtomicIdGenerator;
+import ru.yandex.practicum.filmorate.storage.IdGenerator;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator idGenerator = new AtomicIdGenerator();
+
+    @Benchmark
+    public int nextId() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public int nextIdContended() {
+        return idGenerator.nextId();
+    }
+
+    @Benchmark
+    public int reserveBlock() {
+        return idGenerator.reserve(1000);
+    }
+}
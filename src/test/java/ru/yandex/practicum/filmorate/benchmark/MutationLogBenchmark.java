@@ -0,0 +1,68 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнивает синхронную запись полного {@code toString()} сущности в общий поток вывода, как это делает
+ * синхронный аппендер, с постановкой события в {@link MutationLog}, который пишет тот же поток из своего потока.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+public class MutationLogBenchmark {
+
+    private static final String[] FIELDS = {"name", "description", "releaseDate", "duration"};
+
+    @Param({"DROP", "BLOCK"})
+    private MutationLog.Overflow overflow;
+
+    private PrintStream out;
+    private MutationLog mutationLog;
+    private Film film;
+
+    @Setup
+    public void setUp() {
+        out = new PrintStream(new BufferedOutputStream(OutputStream.nullOutputStream(), 8192));
+        mutationLog = new MutationLog(8192, overflow, new SimpleMeterRegistry(),
+                (entity, operation, id, version, fields, changed) ->
+                        out.println(entity + " " + operation + ": id=" + id + ", version=" + version + ", fields="
+                                + changed));
+        mutationLog.start();
+        film = Film.builder()
+                .id(42)
+                .version(3)
+                .name("Интерстеллар")
+                .description("Фантастика о путешествии сквозь червоточину в поисках нового дома для человечества")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        mutationLog.close();
+    }
+
+    @Benchmark
+    public void synchronousToString() {
+        out.println("Фильм обновлён: " + film);
+    }
+
+    @Benchmark
+    public boolean asyncRingBuffer() {
+        return mutationLog.record("film", "update", film.getId(), film.getVersion(), FIELDS, 0b1001);
+    }
+}
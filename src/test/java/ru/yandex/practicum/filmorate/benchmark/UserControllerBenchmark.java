@@ -0,0 +1,72 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import ru.yandex.practicum.filmorate.controller.UserController;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.storage.friend.InMemoryFriendStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class UserControllerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private UserController userController;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryUserStorage userStorage = new InMemoryUserStorage();
+        List<User> users = new ArrayList<>(catalogSize);
+        for (int i = 0; i < catalogSize; i++) {
+            users.add(user("user" + i));
+        }
+        userStorage.createAll(users);
+        userController = new UserController(new UserService(userStorage, new InMemoryFriendStorage(), event -> { },
+                MutationLog.disabled(), new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public User create() {
+        return userController.create(user("user"));
+    }
+
+    @Benchmark
+    public User update() {
+        User user = user("updated");
+        user.setId(ThreadLocalRandom.current().nextInt(1, catalogSize + 1));
+        return userController.update(user, null).getBody();
+    }
+
+    @Benchmark
+    public Object createInvalid() {
+        try {
+            return userController.create(user("user with spaces"));
+        } catch (ValidationException e) {
+            return e;
+        }
+    }
+
+    private User user(String login) {
+        return User.builder()
+                .email("ivan@example.com")
+                .login(login)
+                .name("Иван Иванов")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+}
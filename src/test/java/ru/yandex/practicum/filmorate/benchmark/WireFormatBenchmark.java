@@ -0,0 +1,70 @@
+package ru.yandex.practicum.filmorate.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.serializer.BinaryFormats;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение JSON с двоичными форматами на странице из 100 фильмов: время кодирования и разбора.
+ * Размер полезной нагрузки печатается при подготовке прогона.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    private String format;
+
+    private final List<Film> page = new ArrayList<>();
+    private ObjectMapper mapper;
+    private ObjectReader pageReader;
+    private byte[] encodedPage;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        for (int i = 1; i <= 100; i++) {
+            page.add(Film.builder()
+                    .id(i)
+                    .version(i)
+                    .name("Интерстеллар " + i)
+                    .description("Научно-фантастический фильм")
+                    .releaseDate(LocalDate.of(2014, 11, 7))
+                    .duration(Duration.ofMinutes(169))
+                    .build());
+        }
+        BinaryFormats binaryFormats = new BinaryFormats(Jackson2ObjectMapperBuilder::new);
+        mapper = switch (format) {
+            case "cbor" -> binaryFormats.cborMapper();
+            case "smile" -> binaryFormats.smileMapper();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        pageReader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, Film.class));
+        encodedPage = mapper.writeValueAsBytes(page);
+        System.out.printf("%n%s: страница %d байт, фильм %d байт%n",
+                format, encodedPage.length, mapper.writeValueAsBytes(page.getFirst()).length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<Film> decodePage() throws IOException {
+        return pageReader.readValue(encodedPage);
+    }
+}
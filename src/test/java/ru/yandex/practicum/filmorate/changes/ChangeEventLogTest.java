@@ -0,0 +1,66 @@
+package ru.yandex.practicum.filmorate.changes;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.exception.OffsetExpiredException;
+import ru.yandex.practicum.filmorate.model.ChangeBatch;
+import ru.yandex.practicum.filmorate.model.ChangeEvent;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeEventLogTest {
+
+    @Test
+    void testReadsInBatchesFromOffset() {
+        ChangeEventLog changeLog = new ChangeEventLog(10);
+        for (int i = 1; i <= 5; i++) {
+            changeLog.append("film", i == 1 ? "create" : "update", 1, i, "{}");
+        }
+
+        ChangeBatch first = changeLog.read(0, 2);
+        assertEquals(List.of(1L, 2L), first.events().stream().map(ChangeEvent::offset).toList());
+        assertEquals(3, first.nextOffset());
+
+        ChangeBatch rest = changeLog.read(first.nextOffset(), 100);
+        assertEquals(List.of(3L, 4L, 5L), rest.events().stream().map(ChangeEvent::offset).toList());
+        assertEquals(6, rest.nextOffset());
+
+        ChangeBatch empty = changeLog.read(rest.nextOffset(), 100);
+        assertTrue(empty.events().isEmpty());
+        assertEquals(6, empty.nextOffset());
+    }
+
+    @Test
+    void testExpiredOffset() {
+        ChangeEventLog changeLog = new ChangeEventLog(3);
+        for (int i = 1; i <= 5; i++) {
+            changeLog.append("user", "update", i, 2, "{}");
+        }
+
+        assertThrows(OffsetExpiredException.class, () -> changeLog.read(0, 10));
+        assertThrows(OffsetExpiredException.class, () -> changeLog.read(2, 10));
+        assertEquals(List.of(3, 4, 5), changeLog.read(3, 10).events().stream().map(ChangeEvent::id).toList());
+    }
+
+    @Test
+    void testOnAvailable() {
+        ChangeEventLog changeLog = new ChangeEventLog(10);
+        AtomicInteger calls = new AtomicInteger();
+
+        changeLog.onAvailable(1, calls::incrementAndGet);
+        Runnable cancel = changeLog.onAvailable(1, calls::incrementAndGet);
+        cancel.run();
+        assertEquals(0, calls.get());
+        assertEquals(1, changeLog.waiting());
+
+        changeLog.append("film", "create", 1, 1, "{}");
+        assertEquals(1, calls.get());
+        assertEquals(0, changeLog.waiting());
+
+        changeLog.onAvailable(1, calls::incrementAndGet);
+        assertEquals(2, calls.get());
+        assertEquals(0, changeLog.waiting());
+    }
+}
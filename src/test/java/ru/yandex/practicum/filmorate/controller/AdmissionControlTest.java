@@ -0,0 +1,78 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = {"filmorate.rate-limit.rate=0.5", "filmorate.rate-limit.burst=2",
+        "filmorate.rate-limit.client-header=X-Client-Id", "filmorate.rate-limit.trusted-proxies=127.0.0.1"})
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class AdmissionControlTest {
+
+    private static final String FILM = """
+            {"name": "Интерстеллар", "description": "Фантастика", "releaseDate": "2014-11-07", "duration": 10140}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testRateLimitPerClient() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/films").header("X-Client-Id", "importer")
+                            .contentType(MediaType.APPLICATION_JSON).content(FILM))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/films").header("X-Client-Id", "importer")
+                        .contentType(MediaType.APPLICATION_JSON).content(FILM))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$.error").value("Превышена частота запросов клиента"));
+
+        mockMvc.perform(get("/films")).andExpect(status().isOk());
+        mockMvc.perform(post("/films").header("X-Client-Id", "other")
+                        .contentType(MediaType.APPLICATION_JSON).content(FILM))
+                .andExpect(status().isOk());
+
+        assertEquals(1, meterRegistry.get("filmorate.admission.rejected")
+                .tag("reason", "rate")
+                .tag("endpoint", "POST /films")
+                .counter()
+                .count());
+    }
+
+    @Test
+    void testClientHeaderIgnoredFromUntrustedAddress() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/films").header("X-Client-Id", "client-" + i)
+                            .with(AdmissionControlTest::untrusted)
+                            .contentType(MediaType.APPLICATION_JSON).content(FILM))
+                    .andExpect(status().isOk());
+        }
+        mockMvc.perform(post("/films").header("X-Client-Id", "client-2")
+                        .with(AdmissionControlTest::untrusted)
+                        .contentType(MediaType.APPLICATION_JSON).content(FILM))
+                .andExpect(status().isTooManyRequests());
+    }
+
+    private static MockHttpServletRequest untrusted(MockHttpServletRequest request) {
+        request.setRemoteAddr("10.0.0.1");
+        return request;
+    }
+}
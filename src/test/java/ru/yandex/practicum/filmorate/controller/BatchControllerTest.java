@@ -0,0 +1,110 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.BatchItemError;
+import ru.yandex.practicum.filmorate.model.BatchResult;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.friend.InMemoryFriendStorage;
+import ru.yandex.practicum.filmorate.storage.like.InMemoryLikeStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchControllerTest {
+
+    private FilmService filmService;
+    private UserService userService;
+    private BatchController batchController;
+
+    @BeforeEach
+    void setUp() {
+        filmService = new FilmService(new InMemoryFilmStorage(), new InMemoryUserStorage(), new InMemoryLikeStorage(),
+                event -> { }, MutationLog.disabled(), new SimpleMeterRegistry());
+        userService = new UserService(new InMemoryUserStorage(), new InMemoryFriendStorage(), event -> { },
+                MutationLog.disabled(), new SimpleMeterRegistry());
+        batchController = new BatchController(filmService, userService, Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    @Test
+    void testCreateFilmsFromJsonArray() throws IOException {
+        ResponseEntity<BatchResult> response = batchController.createFilms(body("""
+                [
+                  {"name": "Интерстеллар", "description": "Фантастика", "releaseDate": "2014-11-07", "duration": 10140},
+                  {"name": "Начало", "description": "Триллер", "releaseDate": "2010-07-08", "duration": 8880}
+                ]
+                """));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(new BatchResult(2, 1, 2, List.of()), response.getBody());
+        assertEquals(2, filmService.count());
+    }
+
+    @Test
+    void testCreateUsersFromNdjson() throws IOException {
+        ResponseEntity<BatchResult> response = batchController.createUsers(body("""
+                {"email": "ivan@example.com", "login": "ivan", "birthday": "1990-01-01"}
+                {"email": "petr@example.com", "login": "petr", "name": "Пётр", "birthday": "1991-02-02"}
+                """));
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, response.getBody().created());
+        assertEquals("ivan", userService.findAll().iterator().next().getName());
+    }
+
+    @Test
+    void testInvalidItemRejectsWholeBatch() throws IOException {
+        ResponseEntity<BatchResult> response = batchController.createFilms(body("""
+                {"name": "Интерстеллар", "releaseDate": "2014-11-07", "duration": 10140}
+                {"name": "", "releaseDate": "2014-11-07", "duration": 10140}
+                {"name": "Прибытие поезда", "releaseDate": "1895-12-27", "duration": 50}
+                """));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(2, response.getBody().errors().size());
+        assertEquals(1, response.getBody().errors().get(0).index());
+        assertEquals("Название не может быть пустым", response.getBody().errors().get(0).message());
+        assertEquals(2, response.getBody().errors().get(1).index());
+        assertEquals(0, filmService.count());
+    }
+
+    @Test
+    void testDuplicateUsersRejectWholeBatch() throws IOException {
+        batchController.createUsers(body("""
+                {"email": "ivan@example.com", "login": "ivan", "birthday": "1990-01-01"}
+                """));
+
+        ResponseEntity<BatchResult> response = batchController.createUsers(body("""
+                {"email": "petr@example.com", "login": "petr", "birthday": "1990-01-01"}
+                {"email": "PETR@example.com", "login": "petr2", "birthday": "1990-01-01"}
+                {"email": "anna@example.com", "login": "Ivan", "birthday": "1990-01-01"}
+                """));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals(List.of(1, 2), response.getBody().errors().stream().map(BatchItemError::index).toList());
+        assertEquals(1, userService.count());
+    }
+
+    @Test
+    void testMalformedBody() {
+        assertThrows(ValidationException.class, () -> batchController.createFilms(body("[{\"name\": ")));
+    }
+
+    private InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,169 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.yandex.practicum.filmorate.model.ChangeBatch;
+import ru.yandex.practicum.filmorate.model.ChangeEvent;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.ChangeFeedService;
+import ru.yandex.practicum.filmorate.service.FilmService;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ChangeFeedControllerTest {
+
+    private static final String FILM = """
+            {"name": "Интерстеллар", "description": "Фантастика", "releaseDate": "2014-11-07", "duration": 10140}
+            """;
+    private static final String USER = """
+            {"email": "mail@mail.ru", "login": "dolore", "name": "Nick Name", "birthday": "1946-08-20"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private FilmService filmService;
+
+    @Autowired
+    private ChangeFeedService changeFeedService;
+
+    @Test
+    void testPollReturnsCreatesAndUpdates() throws Exception {
+        mockMvc.perform(post("/films").contentType(MediaType.APPLICATION_JSON).content(FILM));
+        mockMvc.perform(put("/films").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"id\": 1, \"name\": \"Начало\"}"));
+
+        MvcResult result = mockMvc.perform(get("/changes").param("timeout", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextOffset").value(3))
+                .andExpect(jsonPath("$.events[0].offset").value(1))
+                .andExpect(jsonPath("$.events[0].entity").value("film"))
+                .andExpect(jsonPath("$.events[0].operation").value("create"))
+                .andExpect(jsonPath("$.events[0].data.name").value("Интерстеллар"))
+                .andExpect(jsonPath("$.events[1].operation").value("update"))
+                .andExpect(jsonPath("$.events[1].version").value(2))
+                .andExpect(jsonPath("$.events[1].data.name").value("Начало"));
+    }
+
+    @Test
+    void testLongPollCompletesOnChange() throws Exception {
+        MvcResult result = mockMvc.perform(get("/changes").param("from", "1").param("timeout", "10"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThrows(IllegalStateException.class, () -> result.getAsyncResult(100));
+
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content(USER))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.events[0].entity").value("user"))
+                .andExpect(jsonPath("$.events[0].data.login").value("dolore"))
+                .andExpect(jsonPath("$.nextOffset").value(2));
+    }
+
+    @Test
+    void testInvalidParameters() throws Exception {
+        mockMvc.perform(get("/changes").param("timeout", "61"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/changes").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStreamSendsBatchesWithEventIds() throws Exception {
+        mockMvc.perform(post("/films").contentType(MediaType.APPLICATION_JSON).content(FILM));
+        MvcResult result = mockMvc.perform(get("/changes/stream").header("Last-Event-ID", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content(USER));
+
+        String content = awaitContent(result.getResponse(), "id:2");
+        assertTrue(content.startsWith("event:changes\nid:1\ndata:[{\"offset\":1,\"entity\":\"film\""), content);
+        assertTrue(content.contains("\"entity\":\"user\""), content);
+    }
+
+    @Test
+    void testBatchIsRecordedAsSingleEvent() throws Exception {
+        mockMvc.perform(post("/films/batch").contentType(MediaType.APPLICATION_NDJSON)
+                        .content(FILM.strip() + "\n" + FILM.strip() + "\n" + FILM.strip() + "\n"))
+                .andExpect(status().isCreated());
+
+        MvcResult result = mockMvc.perform(get("/changes").param("timeout", "0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextOffset").value(2))
+                .andExpect(jsonPath("$.events[0].entity").value("film"))
+                .andExpect(jsonPath("$.events[0].operation").value("create_batch"))
+                .andExpect(jsonPath("$.events[0].data.firstId").value(1))
+                .andExpect(jsonPath("$.events[0].data.lastId").value(3))
+                .andExpect(jsonPath("$.events[0].data.count").value(3));
+    }
+
+    @Test
+    void testConcurrentUpdatesAreRecordedInVersionOrder() throws Exception {
+        Film film = filmService.create(Film.builder()
+                .name("Интерстеллар")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build());
+        int threads = 8;
+        int updatesPerThread = 100;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < updatesPerThread; j++) {
+                    filmService.update(Film.builder().id(film.getId()).description("Обновлено " + j).build());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        ChangeBatch batch = (ChangeBatch) changeFeedService.poll(0, 10_000, Duration.ZERO).getResult();
+
+        assertEquals(threads * updatesPerThread + 1, batch.events().size());
+        for (int i = 0; i < batch.events().size(); i++) {
+            ChangeEvent event = batch.events().get(i);
+            assertEquals(i + 1, event.version());
+            assertTrue(event.data().contains("\"version\":" + event.version()), event.data());
+        }
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = response.getContentAsString();
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            content = response.getContentAsString();
+        }
+        return content;
+    }
+}
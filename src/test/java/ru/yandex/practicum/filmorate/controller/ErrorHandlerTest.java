@@ -0,0 +1,71 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ErrorHandlerTest {
+
+    private static final String USER = """
+            {"email": "mail@mail.ru", "login": "dolore", "name": "Nick Name", "birthday": "1946-08-20"}
+            """;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void testValidationErrorListsEveryField() throws Exception {
+        String film = """
+                {"name": " ", "description": "Фантастика", "releaseDate": "1890-01-01", "duration": -1}
+                """;
+
+        mockMvc.perform(post("/films").contentType(MediaType.APPLICATION_JSON).content(film))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.length()").value(3))
+                .andExpect(jsonPath("$.errors[0].field").value("name"))
+                .andExpect(jsonPath("$.errors[0].message").value("Название не может быть пустым"))
+                .andExpect(jsonPath("$.errors[1].field").value("releaseDate"))
+                .andExpect(jsonPath("$.errors[2].field").value("duration"));
+    }
+
+    @Test
+    void testUserValidationOnCreate() throws Exception {
+        String user = """
+                {"email": "mail.ru", "login": "do lore", "birthday": "2446-08-20"}
+                """;
+
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content(user))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[*].field").value(Matchers.contains(
+                        "email", "login", "birthday")));
+    }
+
+    @Test
+    void testStatusesOfOtherErrors() throws Exception {
+        mockMvc.perform(get("/users/42"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.error").value("Пользователь с id = 42 не найден"))
+                .andExpect(jsonPath("$.errors").isEmpty());
+
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content(USER))
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/users").contentType(MediaType.APPLICATION_JSON).content(USER))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/films/popular").param("count", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Количество фильмов должно быть положительным"));
+    }
+}
@@ -1,15 +1,25 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
 import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.MultiGetResult;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.like.InMemoryLikeStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
 
 import java.time.Duration;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -18,10 +28,15 @@ import static org.junit.jupiter.api.Assertions.*;
 class FilmControllerTest {
 
     private FilmController filmController;
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryUserStorage userStorage;
 
     @BeforeEach
     void setUp() {
-        filmController = new FilmController();
+        meterRegistry = new SimpleMeterRegistry();
+        userStorage = new InMemoryUserStorage();
+        filmController = new FilmController(new FilmService(new InMemoryFilmStorage(), userStorage,
+                new InMemoryLikeStorage(), event -> { }, MutationLog.disabled(), meterRegistry));
     }
 
     @Test
@@ -34,13 +49,103 @@ class FilmControllerTest {
                 .build();
 
         filmController.create(film);
-        List<Film> films = new ArrayList<>(filmController.findAll());
+        List<Film> films = new ArrayList<>(filmController.findAll(null, null, null, null).getBody());
 
         assertNotNull(films);
         assertEquals(1, films.size());
         assertEquals("Интерстеллар", films.get(0).getName());
     }
 
+    @Test
+    void testFindPage() {
+        for (int i = 0; i < 5; i++) {
+            filmController.create(Film.builder()
+                    .name("Фильм " + i)
+                    .description("Описание")
+                    .releaseDate(LocalDate.of(2014, 11, 7))
+                    .duration(Duration.ofMinutes(90))
+                    .build());
+        }
+
+        ResponseEntity<List<Film>> firstPage = filmController.findPage(0, 2);
+        ResponseEntity<List<Film>> lastPage = filmController.findPage(4, 2);
+
+        assertEquals(List.of(1, 2), firstPage.getBody().stream().map(Film::getId).toList());
+        assertEquals("5", firstPage.getHeaders().getFirst("X-Total-Count"));
+        assertEquals("2", firstPage.getHeaders().getFirst("X-Next-After"));
+        assertEquals(List.of(5), lastPage.getBody().stream().map(Film::getId).toList());
+        assertNull(lastPage.getHeaders().getFirst("X-Next-After"));
+    }
+
+    @Test
+    void testFindByReleaseDateAndDuration() {
+        int[][] films = {{1925, 75}, {1972, 175}, {1994, 142}, {2014, 169}};
+        for (int[] film : films) {
+            filmController.create(Film.builder()
+                    .name("Фильм " + film[0])
+                    .description("Описание")
+                    .releaseDate(LocalDate.of(film[0], 1, 1))
+                    .duration(Duration.ofMinutes(film[1]))
+                    .build());
+        }
+        filmController.update(Film.builder()
+                .id(3)
+                .name("Фильм 1994")
+                .description("Описание")
+                .releaseDate(LocalDate.of(1960, 1, 1))
+                .duration(Duration.ofMinutes(142))
+                .build(), null);
+
+        assertEquals(List.of(3, 2), ids(filmController.findAll(LocalDate.of(1950, 1, 1), LocalDate.of(1990, 1, 1),
+                null, null)));
+        assertEquals(List.of(1, 3), ids(filmController.findAll(null, LocalDate.of(1960, 1, 1), null, null)));
+        assertEquals(List.of(3, 4), ids(filmController.findAll(null, null, 142L * 60, 170L * 60)));
+        assertEquals(List.of(4), ids(filmController.findAll(LocalDate.of(1990, 1, 1), null, null, 170L * 60)));
+        assertEquals(4, filmController.findAll(null, null, null, null).getBody().size());
+        assertThrows(ValidationException.class,
+                () -> filmController.findAll(LocalDate.of(2000, 1, 1), LocalDate.of(1990, 1, 1), null, null));
+    }
+
+    @Test
+    void testFindByDurationBeyondIndexKeys() {
+        filmController.create(Film.builder()
+                .name("Очень длинный фильм")
+                .description("Описание")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofSeconds(Integer.MAX_VALUE + 10L))
+                .build());
+
+        assertEquals(List.of(), ids(filmController.findAll(null, null, 60L, (long) Integer.MAX_VALUE)));
+        assertEquals(List.of(1), ids(filmController.findAll(null, null, Integer.MAX_VALUE + 1L, null)));
+    }
+
+    @Test
+    void testFindByIdAndIds() {
+        for (int i = 0; i < 3; i++) {
+            filmController.create(Film.builder()
+                    .name("Фильм " + i)
+                    .description("Описание")
+                    .releaseDate(LocalDate.of(2014, 11, 7))
+                    .duration(Duration.ofMinutes(90))
+                    .build());
+        }
+
+        ResponseEntity<Film> film = filmController.findById(2);
+        MultiGetResult<Film> result = filmController.findByIds(List.of(3, 7, 1, 3, 8)).getBody();
+
+        assertEquals("Фильм 1", film.getBody().getName());
+        assertEquals("\"1\"", film.getHeaders().getETag());
+        assertEquals(List.of(3, 1), ids(result.items()));
+        assertEquals(List.of(7, 8), result.missing());
+        assertThrows(NotFoundException.class, () -> filmController.findById(99));
+        assertThrows(ValidationException.class, () -> filmController.findByIds(List.of()));
+    }
+
+    @Test
+    void testFindPageWithInvalidLimit() {
+        assertThrows(ValidationException.class, () -> filmController.findPage(0, 0));
+    }
+
     @Test
     void testAddValidFilm() {
         Film film = Film.builder()
@@ -76,7 +181,7 @@ class FilmControllerTest {
                 .duration(Duration.ofMinutes(169))
                 .build();
 
-        filmController.update(film2);
+        filmController.update(film2, null);
 
         assertNotNull(addedFilm);
         assertEquals(1, addedFilm.getId());
@@ -116,6 +221,22 @@ class FilmControllerTest {
         assertTrue(exception.getMessage().contains("Название не может быть пустым"));
     }
 
+    @Test
+    void testNameMaxLength() {
+        Film film = Film.builder()
+                .name("А".repeat(256))
+                .description("Тестовое описание")
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .duration(Duration.ofMinutes(120))
+                .build();
+
+        Exception exception = assertThrows(ValidationException.class, () -> {
+            filmController.create(film);
+        });
+
+        assertTrue(exception.getMessage().contains("Максимальная длина названия — 255 символов"));
+    }
+
     @Test
     void testDescriptionMaxLength() {
         Film film = Film.builder()
@@ -222,9 +343,83 @@ class FilmControllerTest {
                 .build();
 
         Exception exception = assertThrows(NotFoundException.class, () -> {
-            filmController.update(film);
+            filmController.update(film, null);
         });
 
         assertTrue(exception.getMessage().contains("Фильм с id = " + film.getId() + " не найден"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testOperationMetrics() {
+        Film film = Film.builder()
+                .name("Тестовое название")
+                .description("Тестовое описание")
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .duration(Duration.ofMinutes(120))
+                .build();
+        Film invalidFilm = Film.builder()
+                .name("Тестовое название")
+                .description("Тестовое описание")
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .duration(Duration.ZERO)
+                .build();
+
+        filmController.create(film);
+        assertThrows(ValidationException.class, () -> filmController.create(invalidFilm));
+
+        assertEquals(2, meterRegistry.get("filmorate.operation").tag("operation", "create").timer().count());
+        assertEquals(1, meterRegistry.get("filmorate.validation.failures").tag("rule", "duration_positive").counter().count());
+    }
+
+    @Test
+    void testPopularFilms() {
+        for (int i = 1; i <= 3; i++) {
+            filmController.create(Film.builder()
+                    .name("Фильм " + i)
+                    .description("Описание")
+                    .releaseDate(LocalDate.of(2020, 1, 1))
+                    .duration(Duration.ofMinutes(120))
+                    .build());
+            userStorage.create(User.builder()
+                    .email("user" + i + "@example.com")
+                    .login("user" + i)
+                    .birthday(LocalDate.of(1990, 1, 1))
+                    .build());
+        }
+
+        filmController.addLike(3, 1);
+        filmController.addLike(3, 2);
+        filmController.addLike(2, 1);
+        filmController.addLike(2, 1);
+
+        assertEquals(List.of(3, 2, 1), filmController.findPopular(10).stream().map(Film::getId).toList());
+        assertEquals(List.of(3), filmController.findPopular(1).stream().map(Film::getId).toList());
+
+        filmController.removeLike(3, 1);
+        filmController.removeLike(3, 2);
+
+        assertEquals(List.of(2, 1), filmController.findPopular(2).stream().map(Film::getId).toList());
+    }
+
+    @Test
+    void testLikeByUnknownUser() {
+        filmController.create(Film.builder()
+                .name("Фильм")
+                .description("Описание")
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .duration(Duration.ofMinutes(120))
+                .build());
+
+        Exception exception = assertThrows(NotFoundException.class, () -> filmController.addLike(1, 999));
+
+        assertTrue(exception.getMessage().contains("Пользователь с id = 999 не найден"));
+    }
+
+    private static List<Integer> ids(ResponseEntity<Collection<Film>> response) {
+        return ids(response.getBody());
+    }
+
+    private static List<Integer> ids(Collection<Film> films) {
+        return films.stream().map(Film::getId).toList();
+    }
+}
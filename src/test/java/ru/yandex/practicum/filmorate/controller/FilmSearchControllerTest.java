@@ -0,0 +1,94 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.event.FilmChangedEvent;
+import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.service.FilmSearchService;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.like.InMemoryLikeStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilmSearchControllerTest {
+
+    private FilmService filmService;
+    private FilmSearchController filmSearchController;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryFilmStorage filmStorage = new InMemoryFilmStorage();
+        FilmSearchService filmSearchService = new FilmSearchService(filmStorage);
+        filmService = new FilmService(filmStorage, new InMemoryUserStorage(), new InMemoryLikeStorage(), event -> {
+            if (event instanceof FilmChangedEvent filmChanged) {
+                filmSearchService.onFilmChanged(filmChanged);
+            }
+        }, MutationLog.disabled(), new SimpleMeterRegistry());
+        filmSearchController = new FilmSearchController(filmSearchService);
+
+        create("Интерстеллар", "Фантастика о путешествии сквозь червоточину в космос");
+        create("Звёздные войны", "Космическая опера о войне в далёкой галактике");
+        create("Star Wars", "Space opera: a war in a galaxy far, far away");
+        create("Война и мир", "Экранизация романа Толстого");
+        create("Космос", "Документальный сериал о космосе");
+    }
+
+    @Test
+    void testSearchRanksNameMatchesFirst() {
+        assertEquals(List.of(5, 1), ids(filmSearchController.search("космос", 20)));
+        assertEquals(List.of(4), ids(filmSearchController.search("война", 20)));
+        assertEquals(List.of(3), ids(filmSearchController.search("galaxy wars", 20)));
+        assertEquals(List.of(2), ids(filmSearchController.search("ЗВЕЗДНЫЕ", 20)));
+    }
+
+    @Test
+    void testSearchByPrefix() {
+        assertEquals(List.of(2, 4), ids(filmSearchController.search("войн", 20)));
+        assertEquals(List.of(5, 2, 1), ids(filmSearchController.search("косм", 20)));
+        assertEquals(List.of(3), ids(filmSearchController.search("gal", 20)));
+        assertEquals(List.of(5), ids(filmSearchController.search("косм", 1)));
+        assertEquals(List.of(), ids(filmSearchController.search("войнушка", 20)));
+    }
+
+    @Test
+    void testUpdateReindexesFilm() {
+        filmService.update(Film.builder()
+                .id(1)
+                .name("Интерстеллар")
+                .description("Фильм о чёрной дыре")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build());
+
+        assertEquals(List.of(), ids(filmSearchController.search("червоточину", 20)));
+        assertEquals(List.of(1), ids(filmSearchController.search("черной дыре", 20)));
+        assertEquals(List.of(1), ids(filmSearchController.search("интерстеллар", 20)));
+    }
+
+    @Test
+    void testSearchWithoutWords() {
+        assertThrows(ValidationException.class, () -> filmSearchController.search(" и — ", 20));
+    }
+
+    private void create(String name, String description) {
+        filmService.create(Film.builder()
+                .name(name)
+                .description(description)
+                .releaseDate(LocalDate.of(2000, 1, 1))
+                .duration(Duration.ofMinutes(120))
+                .build());
+    }
+
+    private static List<Integer> ids(List<Film> films) {
+        return films.stream().map(Film::getId).toList();
+    }
+}
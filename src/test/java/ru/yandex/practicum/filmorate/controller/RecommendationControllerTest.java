@@ -0,0 +1,94 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.event.LikeChangedEvent;
+import ru.yandex.practicum.filmorate.exception.NotFoundException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.FilmService;
+import ru.yandex.practicum.filmorate.service.RecommendationService;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+import ru.yandex.practicum.filmorate.storage.like.InMemoryLikeStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecommendationControllerTest {
+
+    private FilmService filmService;
+    private RecommendationController recommendationController;
+
+    @BeforeEach
+    void setUp() {
+        InMemoryFilmStorage filmStorage = new InMemoryFilmStorage();
+        InMemoryUserStorage userStorage = new InMemoryUserStorage();
+        InMemoryLikeStorage likeStorage = new InMemoryLikeStorage();
+        RecommendationService recommendationService = new RecommendationService(likeStorage, filmStorage, userStorage);
+        filmService = new FilmService(filmStorage, userStorage, likeStorage,
+                event -> recommendationService.onLikeChanged((LikeChangedEvent) event), MutationLog.disabled(),
+                new SimpleMeterRegistry());
+        recommendationController = new RecommendationController(recommendationService);
+
+        for (int i = 1; i <= 4; i++) {
+            filmStorage.create(Film.builder()
+                    .name("Фильм " + i)
+                    .description("Описание")
+                    .releaseDate(LocalDate.of(2000, 1, 1))
+                    .duration(Duration.ofMinutes(90))
+                    .build());
+            userStorage.create(User.builder()
+                    .email("user" + i + "@mail.ru")
+                    .login("user" + i)
+                    .name("Пользователь " + i)
+                    .birthday(LocalDate.of(1990, 1, 1))
+                    .build());
+        }
+    }
+
+    @Test
+    void testRecommendsFilmsLikedBySimilarUsers() {
+        filmService.addLike(1, 1);
+        filmService.addLike(1, 2);
+        filmService.addLike(2, 2);
+        filmService.addLike(3, 2);
+        filmService.addLike(3, 3);
+        filmService.addLike(4, 4);
+
+        assertEquals(List.of(2, 3), ids(recommendationController.recommend(1, 10)));
+        assertEquals(List.of(2), ids(recommendationController.recommend(1, 1)));
+        assertEquals(List.of(), ids(recommendationController.recommend(4, 10)));
+    }
+
+    @Test
+    void testRecommendationsAreInvalidatedByNeighbourLikes() {
+        filmService.addLike(1, 1);
+        filmService.addLike(1, 2);
+        assertEquals(List.of(), ids(recommendationController.recommend(1, 10)));
+
+        filmService.addLike(4, 2);
+        assertEquals(List.of(4), ids(recommendationController.recommend(1, 10)));
+
+        filmService.addLike(4, 1);
+        assertEquals(List.of(), ids(recommendationController.recommend(1, 10)));
+
+        filmService.removeLike(4, 2);
+        filmService.removeLike(4, 1);
+        assertEquals(List.of(), ids(recommendationController.recommend(2, 10)));
+    }
+
+    @Test
+    void testRecommendationsForUnknownUser() {
+        assertThrows(NotFoundException.class, () -> recommendationController.recommend(99, 10));
+    }
+
+    private static List<Integer> ids(List<Film> films) {
+        return films.stream().map(Film::getId).toList();
+    }
+}
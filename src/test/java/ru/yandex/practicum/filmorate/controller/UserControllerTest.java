@@ -1,11 +1,18 @@
 package ru.yandex.practicum.filmorate.controller;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.yandex.practicum.filmorate.exception.DuplicateException;
 import ru.yandex.practicum.filmorate.exception.NotFoundException;
 import ru.yandex.practicum.filmorate.exception.ValidationException;
+import ru.yandex.practicum.filmorate.logging.MutationLog;
+import ru.yandex.practicum.filmorate.model.MultiGetResult;
 import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.service.UserService;
+import ru.yandex.practicum.filmorate.storage.friend.InMemoryFriendStorage;
+import ru.yandex.practicum.filmorate.storage.user.InMemoryUserStorage;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
@@ -20,7 +27,8 @@ class UserControllerTest {
 
     @BeforeEach
     void setUp() {
-        userController = new UserController();
+        userController = new UserController(new UserService(new InMemoryUserStorage(), new InMemoryFriendStorage(),
+                event -> { }, MutationLog.disabled(), new SimpleMeterRegistry()));
     }
 
     @Test
@@ -33,7 +41,7 @@ class UserControllerTest {
                 .build();
 
         userController.create(user);
-        List<User> users = new ArrayList<>(userController.findAll());
+        List<User> users = new ArrayList<>(userController.findAll().getBody());
 
         assertNotNull(users);
         assertEquals(1, users.size());
@@ -75,7 +83,7 @@ class UserControllerTest {
                 .birthday(LocalDate.of(1990, 1, 1))
                 .build();
 
-        userController.update(user2);
+        userController.update(user2, null);
 
         assertNotNull(createdUser);
         assertEquals(1, createdUser.getId());
@@ -251,9 +259,117 @@ class UserControllerTest {
                 .build();
 
         Exception exception = assertThrows(NotFoundException.class, () -> {
-            userController.update(user);
+            userController.update(user, null);
         });
 
         assertTrue(exception.getMessage().contains("Пользователь с id = " + user.getId() + " не найден"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFriendsAndCommonFriends() {
+        for (int i = 1; i <= 4; i++) {
+            userController.create(User.builder()
+                    .email("user" + i + "@example.com")
+                    .login("user" + i)
+                    .birthday(LocalDate.of(1990, 1, 1))
+                    .build());
+        }
+
+        userController.addFriend(1, 3);
+        userController.addFriend(1, 2);
+        userController.addFriend(4, 3);
+        userController.addFriend(4, 2);
+
+        assertEquals(List.of(2, 3), userController.findFriends(1).stream().map(User::getId).toList());
+        assertEquals(List.of(1, 4), userController.findFriends(3).stream().map(User::getId).toList());
+        assertEquals(List.of(2, 3), userController.findCommonFriends(1, 4).stream().map(User::getId).toList());
+
+        userController.removeFriend(3, 1);
+
+        assertEquals(List.of(2), userController.findFriends(1).stream().map(User::getId).toList());
+        assertEquals(List.of(2), userController.findCommonFriends(4, 1).stream().map(User::getId).toList());
+    }
+
+    @Test
+    void testAddSelfAsFriend() {
+        userController.create(User.builder()
+                .email("ivan@example.com")
+                .login("user123")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .build());
+
+        assertThrows(ValidationException.class, () -> userController.addFriend(1, 1));
+    }
+
+    @Test
+    void testAddUnknownFriend() {
+        userController.create(User.builder()
+                .email("ivan@example.com")
+                .login("user123")
+                .birthday(LocalDate.of(1990, 1, 1))
+                .build());
+
+        Exception exception = assertThrows(NotFoundException.class, () -> userController.addFriend(1, 999));
+
+        assertTrue(exception.getMessage().contains("Пользователь с id = 999 не найден"));
+    }
+
+    @Test
+    void testDuplicateEmailAndLoginIgnoreCase() {
+        userController.create(user("ivan@example.com", "user123"));
+
+        assertThrows(DuplicateException.class, () -> userController.create(user("IVAN@example.com", "other")));
+        assertThrows(DuplicateException.class, () -> userController.create(user("petr@example.com", "User123")));
+
+        User petr = userController.create(user("petr@example.com", "petr"));
+        assertEquals(2, petr.getId());
+    }
+
+    @Test
+    void testUpdateToTakenEmailKeepsUserUnchanged() {
+        userController.create(user("ivan@example.com", "ivan"));
+        userController.create(user("petr@example.com", "petr"));
+
+        User update = user("Ivan@Example.com", "petr2");
+        update.setId(2);
+        assertThrows(DuplicateException.class, () -> userController.update(update, null));
+        assertEquals("petr", userController.findByEmail("petr@example.com").getLogin());
+
+        User rename = user("PETR@example.com", "Petr");
+        rename.setId(2);
+        userController.update(rename, null);
+        assertEquals(2, userController.findByLogin("petr").getId());
+        assertEquals(2, userController.findByEmail("petr@example.com").getId());
+    }
+
+    @Test
+    void testFindByIdAndIds() {
+        userController.create(user("ivan@example.com", "ivan"));
+        userController.create(user("petr@example.com", "petr"));
+
+        MultiGetResult<User> result = userController.findByIds(List.of(2, 5)).getBody();
+
+        assertEquals("ivan", userController.findById(1).getBody().getLogin());
+        assertEquals(List.of(2), result.items().stream().map(User::getId).toList());
+        assertEquals(List.of(5), result.missing());
+        assertThrows(NotFoundException.class, () -> userController.findById(3));
+    }
+
+    @Test
+    void testFindByEmailAndLogin() {
+        userController.create(user("ivan@example.com", "user123"));
+
+        assertEquals(1, userController.findByEmail("Ivan@Example.com").getId());
+        assertEquals(1, userController.findByLogin("USER123").getId());
+        assertThrows(NotFoundException.class, () -> userController.findByEmail("petr@example.com"));
+        assertThrows(NotFoundException.class, () -> userController.findByLogin("petr"));
+    }
+
+    private static User user(String email, String login) {
+        return User.builder()
+                .email(email)
+                .login(login)
+                .birthday(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+}
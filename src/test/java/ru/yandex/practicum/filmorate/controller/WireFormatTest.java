@@ -0,0 +1,136 @@
+package ru.yandex.practicum.filmorate.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+import ru.yandex.practicum.filmorate.serializer.BinaryFormats;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class WireFormatTest {
+
+    private static final Film FILM = Film.builder()
+            .name("Интерстеллар")
+            .description("Фантастика")
+            .releaseDate(LocalDate.of(2014, 11, 7))
+            .duration(Duration.ofMinutes(169))
+            .build();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BinaryFormats binaryFormats;
+
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+
+    @BeforeEach
+    void setUp() {
+        cborMapper = binaryFormats.cborMapper();
+        smileMapper = binaryFormats.smileMapper();
+    }
+
+    @Test
+    void testCborRoundTrip() throws Exception {
+        byte[] created = mockMvc.perform(post("/films")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(FILM)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        Film film = cborMapper.readValue(created, Film.class);
+        assertEquals(1, film.getId());
+        assertEquals(FILM.getName(), film.getName());
+        assertEquals(FILM.getReleaseDate(), film.getReleaseDate());
+        assertEquals(FILM.getDuration(), film.getDuration());
+    }
+
+    @Test
+    void testSmileResponseForJsonRequest() throws Exception {
+        mockMvc.perform(post("/films")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Интерстеллар", "description": "Фантастика",
+                                 "releaseDate": "2014-11-07", "duration": 10140}
+                                """))
+                .andExpect(status().isOk());
+
+        byte[] body = mockMvc.perform(get("/films/1").accept(BinaryFormats.APPLICATION_SMILE))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(BinaryFormats.APPLICATION_SMILE))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+        assertEquals(LocalDate.of(2014, 11, 7), smileMapper.readValue(body, Film.class).getReleaseDate());
+
+        mockMvc.perform(get("/films/1"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.releaseDate").value("2014-11-07"));
+    }
+
+    @Test
+    void testValidationErrorInRequestedFormat() throws Exception {
+        Film invalid = Film.builder()
+                .name(" ")
+                .releaseDate(FILM.getReleaseDate())
+                .duration(FILM.getDuration())
+                .build();
+
+        byte[] body = mockMvc.perform(post("/films")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(invalid)))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        Map<?, ?> error = cborMapper.readValue(body, Map.class);
+        assertEquals("name", ((Map<?, ?>) ((List<?>) error.get("errors")).getFirst()).get("field"));
+    }
+
+    @Test
+    void testSmileBatch() throws Exception {
+        List<User> users = List.of(
+                User.builder().email("ivan@example.com").login("ivan").birthday(LocalDate.of(1990, 1, 1)).build(),
+                User.builder().email("petr@example.com").login("petr").birthday(LocalDate.of(1991, 2, 2)).build());
+
+        mockMvc.perform(post("/users/batch")
+                        .contentType(BinaryFormats.APPLICATION_SMILE)
+                        .content(smileMapper.writeValueAsBytes(users)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").value(2));
+    }
+
+    @Test
+    void testChangeFeedIsJsonOnly() throws Exception {
+        mockMvc.perform(get("/changes").param("timeout", "0").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isNotAcceptable());
+    }
+}
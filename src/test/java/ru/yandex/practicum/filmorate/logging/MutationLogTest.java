@@ -0,0 +1,99 @@
+package ru.yandex.practicum.filmorate.logging;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MutationLogTest {
+
+    private static final String[] FIELDS = {"name", "description", "releaseDate", "duration"};
+
+    @Test
+    void testWritesEventsInOrder() throws InterruptedException {
+        List<String> written = Collections.synchronizedList(new ArrayList<>());
+        MutationLog mutationLog = new MutationLog(4, MutationLog.Overflow.BLOCK, new SimpleMeterRegistry(),
+                (entity, operation, id, version, fields, changed) ->
+                        written.add(entity + " " + operation + " " + id + " v" + version + " "
+                                + MutationLog.describe(fields, changed)));
+        mutationLog.start();
+
+        for (int i = 1; i <= 100; i++) {
+            assertTrue(mutationLog.record("film", "update", i, i + 1, FIELDS, 0b1001));
+        }
+        mutationLog.close();
+
+        assertEquals(100, written.size());
+        assertEquals("film update 1 v2 [name,duration]", written.getFirst());
+        assertEquals("film update 100 v101 [name,duration]", written.getLast());
+        assertEquals(0, mutationLog.dropped());
+    }
+
+    @Test
+    void testIdleConsumerWakesUpOnRecord() throws InterruptedException {
+        CountDownLatch written = new CountDownLatch(1);
+        MutationLog mutationLog = new MutationLog(4, MutationLog.Overflow.DROP, new SimpleMeterRegistry(),
+                (entity, operation, id, version, fields, changed) -> written.countDown());
+        mutationLog.start();
+        Thread.sleep(50);
+
+        assertTrue(mutationLog.record("film", "create", 1, 1, FIELDS, 0b1111));
+
+        assertTrue(written.await(5, TimeUnit.SECONDS));
+        mutationLog.close();
+    }
+
+    @Test
+    void testDropsWhenBufferIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> written = Collections.synchronizedList(new ArrayList<>());
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MutationLog mutationLog = new MutationLog(3, MutationLog.Overflow.DROP, meterRegistry,
+                (entity, operation, id, version, fields, changed) -> {
+                    awaitQuietly(release);
+                    written.add(id);
+                });
+
+        for (int i = 0; i < 10; i++) {
+            mutationLog.record("user", "create", i, 1, FIELDS, 0b1111);
+        }
+        assertEquals(4, mutationLog.pending());
+        assertEquals(6, mutationLog.dropped());
+        assertEquals(6, meterRegistry.get("filmorate.mutations.dropped").counter().count());
+
+        mutationLog.start();
+        release.countDown();
+        mutationLog.close();
+        assertEquals(List.of(0, 1, 2, 3), written);
+    }
+
+    @Test
+    void testBlockWithoutConsumerDoesNotHang() {
+        MutationLog mutationLog = new MutationLog(2, MutationLog.Overflow.BLOCK, new SimpleMeterRegistry(),
+                (entity, operation, id, version, fields, changed) -> { });
+
+        assertTrue(mutationLog.record("film", "create", 1, 1, FIELDS, 0));
+        assertTrue(mutationLog.record("film", "create", 2, 1, FIELDS, 0));
+        assertFalse(mutationLog.record("film", "create", 3, 1, FIELDS, 0));
+    }
+
+    @Test
+    void testDescribeChangedFields() {
+        assertEquals("[]", MutationLog.describe(FIELDS, 0));
+        assertEquals("[description,releaseDate]", MutationLog.describe(FIELDS, 0b0110));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
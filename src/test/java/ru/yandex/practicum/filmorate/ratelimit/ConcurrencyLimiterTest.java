@@ -0,0 +1,23 @@
+package ru.yandex.practicum.filmorate.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimiterTest {
+
+    @Test
+    void testLimitIsPerEndpoint() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2);
+
+        assertTrue(limiter.tryAcquire("PUT /users"));
+        assertTrue(limiter.tryAcquire("PUT /users"));
+        assertFalse(limiter.tryAcquire("PUT /users"));
+        assertTrue(limiter.tryAcquire("POST /films"));
+
+        limiter.release("PUT /users");
+        assertEquals(1, limiter.inFlight("PUT /users"));
+        assertTrue(limiter.tryAcquire("PUT /users"));
+        assertFalse(limiter.tryAcquire("PUT /users"));
+    }
+}
@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final TokenBucketLimiter limiter = new TokenBucketLimiter(10, 3, 1000, now::get);
+
+    @Test
+    void testBurstThenRefillAtRate() {
+        assertEquals(0, limiter.tryAcquire("importer"));
+        assertEquals(0, limiter.tryAcquire("importer"));
+        assertEquals(0, limiter.tryAcquire("importer"));
+
+        long wait = limiter.tryAcquire("importer");
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), wait);
+        assertEquals(0, limiter.tryAcquire("reader"), "у другого клиента своя корзина");
+
+        now.addAndGet(wait);
+        assertEquals(0, limiter.tryAcquire("importer"));
+        assertTrue(limiter.tryAcquire("importer") > 0);
+    }
+
+    @Test
+    void testRejectionsDoNotConsumeTokens() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("importer");
+        }
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limiter.tryAcquire("importer") > 0);
+        }
+
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("importer"));
+        }
+    }
+
+    @Test
+    void testIdleClientGetsFullBurst() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("importer");
+        }
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, limiter.tryAcquire("importer"));
+        }
+        assertTrue(limiter.tryAcquire("importer") > 0);
+    }
+}
@@ -0,0 +1,51 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+@SpringBootTest(properties = {"filmorate.reactive.enabled=true", "filmorate.reactive.port=0",
+        "filmorate.rate-limit.rate=0.5", "filmorate.rate-limit.burst=2"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReactiveAdmissionTest {
+
+    private static final String FILM = """
+            {"name": "Интерстеллар", "description": "Фантастика", "releaseDate": "2014-11-07", "duration": 10140}
+            """;
+
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveServer.port())
+                .build();
+    }
+
+    @Test
+    void testRateLimitAppliesToReactiveApi() {
+        for (int i = 0; i < 2; i++) {
+            client.post().uri("/films").header("X-Client-Id", "client-" + i)
+                    .contentType(MediaType.APPLICATION_JSON).bodyValue(FILM)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+        client.post().uri("/films").header("X-Client-Id", "client-2")
+                .contentType(MediaType.APPLICATION_JSON).bodyValue(FILM)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().exists(HttpHeaders.RETRY_AFTER)
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Превышена частота запросов клиента");
+
+        client.get().uri("/films").exchange().expectStatus().isOk();
+    }
+}
@@ -0,0 +1,150 @@
+package ru.yandex.practicum.filmorate.reactive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.storage.reactive.ReactiveStorage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"filmorate.reactive.enabled=true", "filmorate.reactive.port=0"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ReactiveApiTest {
+
+    private static final String FILM = """
+            {"name": "Интерстеллар", "description": "Фантастика", "releaseDate": "2014-11-07", "duration": 10140}
+            """;
+    private static final String USER = """
+            {"email": "mail@mail.ru", "login": "dolore", "name": "Nick Name", "birthday": "1946-08-20"}
+            """;
+
+    @Autowired
+    private ReactiveServer reactiveServer;
+
+    @Autowired
+    private ReactiveStorage<Film> reactiveFilmStorage;
+
+    private WebTestClient client;
+
+    @BeforeEach
+    void setUp() {
+        client = WebTestClient.bindToServer()
+                .baseUrl("http://localhost:" + reactiveServer.port())
+                .build();
+    }
+
+    @Test
+    void testFilmCrud() {
+        client.post().uri("/films").contentType(MediaType.APPLICATION_JSON).bodyValue(FILM)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.version").isEqualTo(1)
+                .jsonPath("$.duration").isEqualTo(10140);
+
+        client.put().uri("/films").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\": 1, \"name\": \"Начало\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Начало")
+                .jsonPath("$.version").isEqualTo(2);
+
+        client.get().uri("/films/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.description").isEqualTo("Фантастика");
+
+        client.get().uri("/films/2")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.error").isEqualTo("Фильм с id = 2 не найден");
+    }
+
+    @Test
+    void testValidationErrorsMatchServletApi() {
+        client.post().uri("/films").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"name\": \"\", \"releaseDate\": \"1890-01-01\", \"duration\": 60}")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.errors[0].field").isEqualTo("name")
+                .jsonPath("$.errors[1].field").isEqualTo("releaseDate");
+
+        client.post().uri("/users").contentType(MediaType.APPLICATION_JSON).bodyValue(USER)
+                .exchange()
+                .expectStatus().isOk();
+        client.post().uri("/users").contentType(MediaType.APPLICATION_JSON).bodyValue(USER)
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testStreamsAllFilmsAcrossPages() {
+        int count = 600;
+        for (int i = 0; i < count; i++) {
+            client.post().uri("/films").contentType(MediaType.APPLICATION_JSON).bodyValue(FILM)
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        client.get().uri("/films")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(count)
+                .jsonPath("$[599].id").isEqualTo(600);
+
+        Flux<Film> ndjson = client.get().uri("/films").accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(Film.class)
+                .getResponseBody();
+        StepVerifier.create(ndjson.map(Film::getId), 1)
+                .expectNext(1)
+                .thenRequest(2)
+                .expectNext(2, 3)
+                .thenCancel()
+                .verify();
+
+        StepVerifier.create(reactiveFilmStorage.findAll().take(300).count())
+                .expectNext(300L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testLikesAndFriends() {
+        client.post().uri("/films").contentType(MediaType.APPLICATION_JSON).bodyValue(FILM).exchange();
+        client.post().uri("/users").contentType(MediaType.APPLICATION_JSON).bodyValue(USER).exchange();
+        client.post().uri("/users").contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(USER.replace("mail@mail.ru", "friend@mail.ru").replace("dolore", "friend"))
+                .exchange()
+                .expectStatus().isOk();
+
+        client.put().uri("/films/1/like/1").exchange().expectStatus().isOk();
+        client.get().uri("/films/popular?count=1")
+                .exchange()
+                .expectBody()
+                .jsonPath("$[0].id").isEqualTo(1);
+
+        client.put().uri("/users/1/friends/2").exchange().expectStatus().isOk();
+        client.get().uri("/users/1/friends")
+                .exchange()
+                .expectBody()
+                .jsonPath("$[0].login").isEqualTo("friend");
+        client.put().uri("/users/1/friends/1").exchange().expectStatus().isBadRequest();
+        client.put().uri("/users/1/friends/9").exchange().expectStatus().isNotFound();
+        assertTrue(reactiveServer.isRunning());
+    }
+}
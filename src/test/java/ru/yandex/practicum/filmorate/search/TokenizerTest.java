@@ -0,0 +1,19 @@
+package ru.yandex.practicum.filmorate.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenizerTest {
+
+    @Test
+    void testTokenizeRussianAndEnglish() {
+        assertEquals(List.of("ежик", "тумане", "hedgehog", "fog", "1975"),
+                Tokenizer.tokenize("Ёжик в тумане — The Hedgehog in the Fog (1975)"));
+        assertEquals(List.of("еж", "еще"), Tokenizer.tokenize("Ёж, ЕЩЁ!"));
+        assertEquals(List.of(), Tokenizer.tokenize("  и в на ... "));
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+    }
+}
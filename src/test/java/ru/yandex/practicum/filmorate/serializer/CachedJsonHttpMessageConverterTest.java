@@ -0,0 +1,81 @@
+package ru.yandex.practicum.filmorate.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import ru.yandex.practicum.filmorate.model.BatchResult;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachedJsonHttpMessageConverterTest {
+
+    private static final Type FILMS = new ParameterizedTypeReference<Collection<Film>>() { }.getType();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final JsonBytesCache cache = new JsonBytesCache(objectMapper, 1024 * 1024, new SimpleMeterRegistry());
+    private final CachedJsonHttpMessageConverter converter = new CachedJsonHttpMessageConverter(cache);
+
+    @Test
+    void testWritesSameJsonAsJackson() throws IOException {
+        List<Film> films = List.of(film(1), film(2));
+
+        assertEquals(objectMapper.writeValueAsString(films), write(films, FILMS));
+        assertEquals(objectMapper.writeValueAsString(films.getFirst()), write(films.getFirst(), Film.class));
+        assertEquals("[]", write(List.of(), FILMS));
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    void testNewVersionReplacesCachedBytes() throws IOException {
+        Film film = film(1);
+        String before = write(film, Film.class);
+
+        film.setName("Интерстеллар 2");
+        assertEquals(before, write(film, Film.class));
+
+        film.setVersion(film.getVersion() + 1);
+        assertEquals(objectMapper.writeValueAsString(film), write(film, Film.class));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testOnlyEntitiesAndTheirCollections() {
+        assertTrue(converter.canWrite(FILMS, Collection.class, MediaType.APPLICATION_JSON));
+        assertTrue(converter.canWrite(User.class, User.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(BatchResult.class, BatchResult.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(List.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canWrite(FILMS, Collection.class, MediaType.APPLICATION_XML));
+        assertFalse(converter.canRead(Film.class, MediaType.APPLICATION_JSON));
+    }
+
+    private String write(Object value, Type type) throws IOException {
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        converter.write(value, type, MediaType.APPLICATION_JSON, message);
+        return message.getBodyAsString(StandardCharsets.UTF_8);
+    }
+
+    private static Film film(int id) {
+        return Film.builder()
+                .id(id)
+                .version(1)
+                .name("Интерстеллар")
+                .description("Научно-фантастический фильм")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build();
+    }
+}
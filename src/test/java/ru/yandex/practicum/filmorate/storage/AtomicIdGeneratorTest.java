@@ -0,0 +1,63 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AtomicIdGeneratorTest {
+
+    @Test
+    void testSequentialIds() {
+        IdGenerator idGenerator = new AtomicIdGenerator();
+
+        assertEquals(1, idGenerator.nextId());
+        assertEquals(2, idGenerator.nextId());
+    }
+
+    @Test
+    void testReserveBlock() {
+        IdGenerator idGenerator = new AtomicIdGenerator();
+        idGenerator.nextId();
+
+        assertEquals(2, idGenerator.reserve(10));
+        assertEquals(12, idGenerator.nextId());
+    }
+
+    @Test
+    void testAdvanceToExistingMaxId() {
+        IdGenerator idGenerator = new AtomicIdGenerator();
+
+        idGenerator.advanceTo(41);
+        idGenerator.advanceTo(7);
+
+        assertEquals(42, idGenerator.nextId());
+    }
+
+    @Test
+    void testUniqueIdsUnderConcurrentLoad() throws InterruptedException {
+        IdGenerator idGenerator = new AtomicIdGenerator();
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+        int threads = 8;
+        int idsPerThread = 10_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        for (int i = 0; i < threads; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < idsPerThread; j++) {
+                    ids.add(idGenerator.nextId());
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(threads * idsPerThread, ids.size());
+        assertEquals(threads * idsPerThread + 1, idGenerator.nextId());
+    }
+}
@@ -0,0 +1,49 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RangeIndexTest {
+
+    @Test
+    void testRangeOrderedByKeyThenId() {
+        RangeIndex index = new RangeIndex();
+        index.add(10, 3);
+        index.add(-5, 7);
+        index.add(10, 1);
+        index.add(20, 2);
+
+        assertArrayEquals(new int[]{7, 1, 3, 2}, index.range(Long.MIN_VALUE, Long.MAX_VALUE).toArray());
+        assertArrayEquals(new int[]{1, 3}, index.range(10, 10).toArray());
+        assertArrayEquals(new int[]{7, 1, 3}, index.range(-5, 19).toArray());
+        assertArrayEquals(new int[0], index.range(11, 10).toArray());
+    }
+
+    @Test
+    void testRemove() {
+        RangeIndex index = new RangeIndex();
+        index.add(10, 1);
+        index.add(10, 2);
+
+        index.remove(10, 1);
+        index.remove(11, 2);
+
+        assertArrayEquals(new int[]{2}, index.range(0, 100).toArray());
+    }
+
+    @Test
+    void testKeysOutsideIntAreClamped() {
+        RangeIndex index = new RangeIndex();
+        long huge = Integer.MAX_VALUE + 10L;
+        index.add(huge, 1);
+        index.add(100, 2);
+
+        assertArrayEquals(new int[]{1}, index.range(1000, Long.MAX_VALUE).toArray());
+        assertArrayEquals(new int[]{2}, index.range(0, 1000).toArray());
+
+        index.remove(huge, 1);
+
+        assertArrayEquals(new int[0], index.range(1000, Long.MAX_VALUE).toArray());
+    }
+}
@@ -0,0 +1,38 @@
+package ru.yandex.practicum.filmorate.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SortedIntArraysTest {
+
+    @Test
+    void testInsertAndRemoveKeepOrder() {
+        int[] values = SortedIntArrays.EMPTY;
+        values = SortedIntArrays.insert(values, 5);
+        values = SortedIntArrays.insert(values, 1);
+        values = SortedIntArrays.insert(values, 3);
+
+        assertArrayEquals(new int[]{1, 3, 5}, values);
+        assertSame(values, SortedIntArrays.insert(values, 3));
+        assertArrayEquals(new int[]{1, 5}, SortedIntArrays.remove(values, 3));
+        assertSame(values, SortedIntArrays.remove(values, 4));
+    }
+
+    @Test
+    void testIntersectByMerge() {
+        assertArrayEquals(new int[]{2, 4}, SortedIntArrays.intersect(new int[]{1, 2, 3, 4}, new int[]{2, 4, 6}));
+        assertArrayEquals(new int[0], SortedIntArrays.intersect(new int[]{1, 3}, new int[]{2, 4}));
+    }
+
+    @Test
+    void testIntersectSmallWithLarge() {
+        int[] large = IntStream.rangeClosed(1, 100_000).map(i -> i * 2).toArray();
+        int[] small = {3, 4, 1000, 1001, 200_000, 200_002};
+
+        assertArrayEquals(new int[]{4, 1000, 200_000}, SortedIntArrays.intersect(small, large));
+        assertArrayEquals(new int[]{4, 1000, 200_000}, SortedIntArrays.intersect(large, small));
+    }
+}
@@ -0,0 +1,108 @@
+package ru.yandex.practicum.filmorate.storage.film;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryFilmStorageTest {
+
+    private static final int THREADS = 16;
+
+    private InMemoryFilmStorage filmStorage;
+
+    @BeforeEach
+    void setUp() {
+        filmStorage = new InMemoryFilmStorage();
+    }
+
+    @Test
+    void testConcurrentCreatesKeepAllFilms() throws InterruptedException {
+        int filmsPerThread = 5_000;
+
+        runConcurrently(() -> {
+            for (int i = 0; i < filmsPerThread; i++) {
+                filmStorage.create(film(Duration.ofMinutes(90)));
+            }
+        });
+
+        assertEquals(THREADS * filmsPerThread, filmStorage.size());
+        assertEquals(THREADS * filmsPerThread, filmStorage.findAll().stream().mapToInt(Film::getId).distinct().count());
+    }
+
+    @Test
+    void testConcurrentUpdatesAreNotLost() throws InterruptedException {
+        List<Film> films = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            films.add(filmStorage.create(film(Duration.ZERO)));
+        }
+        int updatesPerThread = 10_000;
+
+        runConcurrently(() -> {
+            for (int i = 0; i < updatesPerThread; i++) {
+                Film target = films.get(i % films.size());
+                filmStorage.update(target.getId(), film -> {
+                    film.setDuration(film.getDuration().plusSeconds(1));
+                    film.setDescription(String.valueOf(film.getDuration().getSeconds()));
+                });
+            }
+        });
+
+        long expectedPerFilm = (long) THREADS * updatesPerThread / films.size();
+        for (Film film : films) {
+            Film stored = filmStorage.findById(film.getId()).orElseThrow();
+            assertEquals(expectedPerFilm, stored.getDuration().getSeconds());
+            assertEquals(String.valueOf(expectedPerFilm), stored.getDescription());
+        }
+    }
+
+    @Test
+    void testUpdateReplacesStoredInstance() {
+        Film published = filmStorage.create(film(Duration.ofMinutes(90)));
+
+        Film updated = filmStorage.update(published.getId(), film -> film.setName("Обновлено")).orElseThrow();
+
+        assertNotSame(published, updated);
+        assertEquals("Тестовое название", published.getName());
+        assertSame(updated, filmStorage.findById(published.getId()).orElseThrow());
+    }
+
+    @Test
+    void testUpdateNonExistingFilm() {
+        assertTrue(filmStorage.update(999, film -> film.setName("Тест")).isEmpty());
+    }
+
+    private void runConcurrently(Runnable task) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < THREADS; i++) {
+            executor.submit(() -> {
+                start.await();
+                task.run();
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+    }
+
+    private Film film(Duration duration) {
+        return Film.builder()
+                .name("Тестовое название")
+                .description("Тестовое описание")
+                .releaseDate(LocalDate.of(2020, 1, 1))
+                .duration(duration)
+                .build();
+    }
+}
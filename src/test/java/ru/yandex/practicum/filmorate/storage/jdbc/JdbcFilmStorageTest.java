@@ -0,0 +1,108 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest(properties = "filmorate.storage.type=jdbc")
+@Import(JdbcFilmStorage.class)
+class JdbcFilmStorageTest {
+
+    @Autowired
+    private JdbcFilmStorage filmStorage;
+
+    @Test
+    void testCreateAndFind() {
+        Film film = filmStorage.create(film("Интерстеллар"));
+
+        Film found = filmStorage.findById(film.getId()).orElseThrow();
+
+        assertEquals(film, found);
+        assertEquals(Duration.ofMinutes(169), found.getDuration());
+    }
+
+    @Test
+    void testNullColumnsAreReadBack() {
+        Film withoutDescription = film("Интерстеллар");
+        withoutDescription.setDescription(null);
+        Film withoutDuration = film("Прибытие", LocalDate.of(2016, 9, 1), null);
+
+        Film first = filmStorage.findById(filmStorage.create(withoutDescription).getId()).orElseThrow();
+        Film second = filmStorage.findById(filmStorage.create(withoutDuration).getId()).orElseThrow();
+
+        assertNull(first.getDescription());
+        assertEquals(Duration.ofMinutes(169), first.getDuration());
+        assertEquals("Описание", second.getDescription());
+        assertNull(second.getDuration());
+    }
+
+    @Test
+    void testCreateAllUsesBatchAndContiguousIds() {
+        List<Film> films = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            films.add(film("Фильм " + i));
+        }
+
+        List<Film> created = filmStorage.createAll(films);
+
+        assertEquals(1200, filmStorage.size());
+        assertEquals(created.getFirst().getId() + 1199, created.getLast().getId());
+        assertEquals(List.of(created.get(10), created.get(11)), filmStorage.findPage(created.get(9).getId(), 2));
+    }
+
+    @Test
+    void testFindByIds() {
+        Film first = filmStorage.create(film("Интерстеллар"));
+        Film second = filmStorage.create(film("Прибытие"));
+
+        assertEquals(List.of(first, second), filmStorage.findByIds(List.of(second.getId(), 999, first.getId())));
+        assertEquals(List.of(), filmStorage.findByIds(List.of()));
+    }
+
+    @Test
+    void testUpdate() {
+        Film film = filmStorage.create(film("Интерстеллар"));
+
+        filmStorage.update(film.getId(), stored -> stored.setName("Интерстеллар 2"));
+
+        assertEquals("Интерстеллар 2", filmStorage.findById(film.getId()).orElseThrow().getName());
+        assertTrue(filmStorage.update(999, stored -> stored.setName("Тест")).isEmpty());
+    }
+
+    @Test
+    void testFindByRange() {
+        Film old = filmStorage.create(film("Броненосец Потёмкин", LocalDate.of(1925, 12, 21), Duration.ofMinutes(75)));
+        Film recent = filmStorage.create(film("Интерстеллар"));
+
+        assertEquals(List.of(old), filmStorage.findByReleaseDate(null, LocalDate.of(2000, 1, 1)));
+        assertEquals(List.of(old, recent), filmStorage.findByReleaseDate(LocalDate.of(1925, 12, 21), null));
+        assertEquals(List.of(recent), filmStorage.findByDuration(Duration.ofMinutes(90), Duration.ofMinutes(169)));
+    }
+
+    private Film film(String name, LocalDate releaseDate, Duration duration) {
+        return Film.builder()
+                .name(name)
+                .description("Описание")
+                .releaseDate(releaseDate)
+                .duration(duration)
+                .build();
+    }
+
+    private Film film(String name) {
+        return Film.builder()
+                .name(name)
+                .description("Описание")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build();
+    }
+}
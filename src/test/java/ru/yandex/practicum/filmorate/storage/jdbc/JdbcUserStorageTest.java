@@ -0,0 +1,53 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import ru.yandex.practicum.filmorate.exception.DuplicateException;
+import ru.yandex.practicum.filmorate.model.User;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JdbcTest(properties = "filmorate.storage.type=jdbc")
+@Import(JdbcUserStorage.class)
+class JdbcUserStorageTest {
+
+    @Autowired
+    private JdbcUserStorage userStorage;
+
+    @Test
+    void testUniqueEmailAndLoginIgnoreCase() {
+        User ivan = userStorage.create(user("ivan@example.com", "ivan"));
+
+        assertEquals(ivan, userStorage.findByEmail("IVAN@example.com").orElseThrow());
+        assertEquals(ivan, userStorage.findByLogin("Ivan").orElseThrow());
+        assertThrows(DuplicateException.class, () -> userStorage.create(user("Ivan@Example.com", "other")));
+        assertThrows(DuplicateException.class,
+                () -> userStorage.createAll(List.of(user("anna@example.com", "anna"), user("petr@example.com", "IVAN"))));
+    }
+
+    @Test
+    void testUpdateToTakenLogin() {
+        userStorage.create(user("ivan@example.com", "ivan"));
+        User petr = userStorage.create(user("petr@example.com", "petr"));
+
+        Exception exception = assertThrows(DuplicateException.class,
+                () -> userStorage.update(petr.getId(), stored -> stored.setLogin("IVAN")));
+
+        assertEquals("Логин уже используется", exception.getMessage());
+        assertEquals("petr", userStorage.findById(petr.getId()).orElseThrow().getLogin());
+    }
+
+    private User user(String email, String login) {
+        return User.builder()
+                .email(email)
+                .login(login)
+                .name(login)
+                .birthday(LocalDate.of(1990, 1, 1))
+                .build();
+    }
+}
@@ -0,0 +1,94 @@
+package ru.yandex.practicum.filmorate.storage.jdbc;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.yandex.practicum.filmorate.model.Film;
+import ru.yandex.practicum.filmorate.storage.film.FilmStorage;
+import ru.yandex.practicum.filmorate.storage.film.InMemoryFilmStorage;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сравнение JDBC-хранилища с хранилищем в памяти. Не входит в обычный прогон тестов:
+ * {@code mvn test -Dgroups=benchmark -DexcludedGroups=}
+ */
+@Tag("benchmark")
+@JdbcTest(properties = "filmorate.storage.type=jdbc")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(JdbcFilmStorage.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class StorageBenchmarkTest {
+
+    private static final int BULK_SIZE = 100_000;
+    private static final int SINGLE_OPERATIONS = 10_000;
+
+    @Autowired
+    private JdbcFilmStorage jdbcFilmStorage;
+
+    @Test
+    void compareStorages() {
+        run("in-memory", new InMemoryFilmStorage());
+        run("jdbc", jdbcFilmStorage);
+    }
+
+    private void run(String name, FilmStorage storage) {
+        long bulk = measure(() -> storage.createAll(films(BULK_SIZE)));
+        long single = measure(() -> {
+            for (int i = 0; i < SINGLE_OPERATIONS; i++) {
+                storage.create(film());
+            }
+        });
+        int maxId = storage.size();
+        long lookups = measure(() -> {
+            for (int i = 0; i < SINGLE_OPERATIONS; i++) {
+                storage.findById(ThreadLocalRandom.current().nextInt(1, maxId + 1));
+            }
+        });
+        long updates = measure(() -> {
+            for (int i = 0; i < SINGLE_OPERATIONS; i++) {
+                storage.update(ThreadLocalRandom.current().nextInt(1, maxId + 1), film -> film.setName("Обновлено"));
+            }
+        });
+        System.out.printf("%-10s bulk insert: %8.0f ops/s, insert: %8.0f ops/s, lookup: %8.0f ops/s, update: %8.0f ops/s%n",
+                name, rate(BULK_SIZE, bulk), rate(SINGLE_OPERATIONS, single),
+                rate(SINGLE_OPERATIONS, lookups), rate(SINGLE_OPERATIONS, updates));
+    }
+
+    private long measure(Runnable action) {
+        long started = System.nanoTime();
+        action.run();
+        return System.nanoTime() - started;
+    }
+
+    private double rate(int operations, long nanos) {
+        return operations / (nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private List<Film> films(int count) {
+        List<Film> films = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            films.add(film());
+        }
+        return films;
+    }
+
+    private Film film() {
+        return Film.builder()
+                .name("Фильм")
+                .description("Описание")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.yandex.practicum.filmorate.storage.like;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryLikeStorageTest {
+
+    @Test
+    void testRankingByLikes() {
+        InMemoryLikeStorage likeStorage = new InMemoryLikeStorage();
+
+        likeStorage.addLike(1, 1);
+        likeStorage.addLike(2, 1);
+        likeStorage.addLike(2, 2);
+        likeStorage.addLike(3, 1);
+
+        assertEquals(List.of(2, 1, 3), likeStorage.findPopular(10));
+        assertArrayEquals(new int[]{1, 2, 3}, likeStorage.findLikedFilms(1));
+        assertFalse(likeStorage.addLike(2, 2));
+        assertTrue(likeStorage.removeLike(2, 2));
+        assertFalse(likeStorage.removeLike(2, 2));
+        assertEquals(List.of(1, 2), likeStorage.findPopular(2));
+        assertArrayEquals(new int[0], likeStorage.findLikedFilms(2));
+    }
+
+    @Test
+    void testConcurrentLikesKeepRankingConsistent() throws InterruptedException {
+        InMemoryLikeStorage likeStorage = new InMemoryLikeStorage();
+        int films = 10;
+        int users = 2_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int userId = 1; userId <= users; userId++) {
+            int user = userId;
+            executor.submit(() -> {
+                for (int filmId = 1; filmId <= films; filmId++) {
+                    if (user % filmId == 0) {
+                        likeStorage.addLike(filmId, user);
+                    }
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), likeStorage.findPopular(films));
+        for (int filmId = 1; filmId <= films; filmId++) {
+            assertEquals(users / filmId, likeStorage.countLikes(filmId));
+        }
+    }
+}
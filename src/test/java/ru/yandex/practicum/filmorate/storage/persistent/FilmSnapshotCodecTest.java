@@ -0,0 +1,118 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilmSnapshotCodecTest {
+
+    private final FilmSnapshotCodec codec = new FilmSnapshotCodec();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testRoundTrip() throws IOException {
+        List<Film> films = List.of(
+                Film.builder()
+                        .id(1)
+                        .version(3)
+                        .name("Интерстеллар")
+                        .description("Научно-фантастический фильм")
+                        .releaseDate(LocalDate.of(2014, 11, 7))
+                        .duration(Duration.ofMinutes(169))
+                        .build(),
+                Film.builder()
+                        .id(7)
+                        .name("Прибытие поезда")
+                        .releaseDate(LocalDate.of(1895, 12, 28))
+                        .build());
+        Path path = dir.resolve("films.snapshot");
+
+        codec.write(films, path);
+        List<Film> restored = new ArrayList<>();
+        codec.read(path, restored::add);
+
+        assertEquals(films, restored);
+    }
+
+    @Test
+    void testReadsVersionOneSnapshotWithoutVersions() throws IOException {
+        Path path = dir.resolve("films.snapshot");
+        byte[] name = "Интерстеллар".getBytes(StandardCharsets.UTF_8);
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(path))) {
+            out.writeInt(FilmSnapshotCodec.MAGIC);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(1);
+            out.writeInt(name.length);
+            out.write(name);
+            out.writeInt(5);
+            out.writeInt(0);
+            out.writeInt(SnapshotWriter.NULL_REF);
+            out.writeInt((int) LocalDate.of(2014, 11, 7).toEpochDay());
+            out.writeLong(Duration.ofMinutes(169).getSeconds());
+        }
+
+        List<Film> restored = new ArrayList<>();
+        codec.read(path, restored::add);
+
+        assertEquals(List.of(Film.builder()
+                .id(5)
+                .version(1)
+                .name("Интерстеллар")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build()), restored);
+    }
+
+    @Test
+    void testDatesOutsideIntRoundTrip() throws IOException {
+        List<Film> films = List.of(Film.builder()
+                .id(1)
+                .name("Фильм из далёкого будущего")
+                .releaseDate(LocalDate.MAX)
+                .build());
+        Path path = dir.resolve("films.snapshot");
+
+        codec.write(films, path);
+        List<Film> restored = new ArrayList<>();
+        codec.read(path, restored::add);
+
+        assertEquals(films, restored);
+    }
+
+    @Test
+    void testRepeatedStringsShareDictionaryEntry() throws IOException {
+        List<Film> films = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            films.add(Film.builder()
+                    .id(i)
+                    .name("Фильм")
+                    .description("Одинаковое описание")
+                    .releaseDate(LocalDate.of(2000, 1, 1))
+                    .duration(Duration.ofMinutes(90))
+                    .build());
+        }
+        Path path = dir.resolve("films.snapshot");
+
+        codec.write(films, path);
+        List<Film> restored = new ArrayList<>();
+        codec.read(path, restored::add);
+
+        assertEquals(100, restored.size());
+        assertSame(restored.get(0).getDescription(), restored.get(99).getDescription());
+    }
+}
@@ -0,0 +1,119 @@
+package ru.yandex.practicum.filmorate.storage.persistent;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.yandex.practicum.filmorate.exception.StorageException;
+import ru.yandex.practicum.filmorate.model.Film;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PersistentFilmStorageTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testFilmsSurviveRestart() {
+        PersistentFilmStorage filmStorage = open(0);
+        filmStorage.create(film("Интерстеллар"));
+        filmStorage.create(film("Начало"));
+        filmStorage.update(1, film -> film.setName("Интерстеллар 2"));
+        filmStorage.close();
+
+        PersistentFilmStorage restored = open(0);
+
+        assertEquals(2, restored.size());
+        assertEquals("Интерстеллар 2", restored.findById(1).orElseThrow().getName());
+        assertEquals(Duration.ofMinutes(169), restored.findById(2).orElseThrow().getDuration());
+        assertEquals(3, restored.create(film("Довод")).getId());
+        restored.close();
+    }
+
+    @Test
+    void testSnapshotCompactsJournal() throws IOException {
+        PersistentFilmStorage filmStorage = open(10);
+        for (int i = 0; i < 50; i++) {
+            filmStorage.create(film("Фильм " + i));
+            filmStorage.update(i + 1, film -> film.setDescription("Обновлено"));
+        }
+        filmStorage.close();
+
+        assertTrue(Files.exists(dir.resolve("films.snapshot")));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertTrue(files.filter(path -> path.toString().endsWith(".wal")).count() < 10);
+        }
+
+        PersistentFilmStorage restored = open(10);
+
+        assertEquals(50, restored.size());
+        assertTrue(restored.findAll().stream().allMatch(film -> "Обновлено".equals(film.getDescription())));
+        restored.close();
+    }
+
+    @Test
+    void testReadsNdjsonSnapshot() throws IOException {
+        Files.writeString(dir.resolve("films.snapshot"), """
+                {"id":4,"name":"Интерстеллар","description":"Описание","releaseDate":"2014-11-07","duration":10140}
+                """);
+
+        PersistentFilmStorage filmStorage = open(0);
+
+        Film film = filmStorage.findById(4).orElseThrow();
+        assertEquals("Интерстеллар", film.getName());
+        assertEquals(1, film.getVersion());
+        assertEquals(5, filmStorage.create(film("Начало")).getId());
+        filmStorage.close();
+    }
+
+    @Test
+    void testFailedJournalWriteDoesNotPublishFilm() {
+        PersistentFilmStorage filmStorage = open(0);
+        filmStorage.close();
+
+        assertThrows(StorageException.class, () -> filmStorage.create(film("Интерстеллар")));
+        assertThrows(StorageException.class, () -> filmStorage.createAll(List.of(film("Начало"))));
+
+        assertEquals(0, filmStorage.size());
+        assertTrue(filmStorage.findAll().isEmpty());
+    }
+
+    @Test
+    void testFailedJournalWriteDoesNotPublishUpdate() {
+        PersistentFilmStorage filmStorage = open(0);
+        filmStorage.create(film("Интерстеллар"));
+        filmStorage.close();
+        AtomicBoolean committed = new AtomicBoolean();
+
+        assertThrows(StorageException.class, () -> filmStorage.update(1, film -> film.setName("Начало"),
+                film -> committed.set(true)));
+
+        assertFalse(committed.get());
+        assertEquals("Интерстеллар", filmStorage.findById(1).orElseThrow().getName());
+    }
+
+    private PersistentFilmStorage open(int snapshotInterval) {
+        return new PersistentFilmStorage(objectMapper, dir, false, snapshotInterval);
+    }
+
+    private Film film(String name) {
+        return Film.builder()
+                .name(name)
+                .description("Описание")
+                .releaseDate(LocalDate.of(2014, 11, 7))
+                .duration(Duration.ofMinutes(169))
+                .build();
+    }
+}
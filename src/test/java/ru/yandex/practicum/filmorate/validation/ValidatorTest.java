@@ -0,0 +1,62 @@
+package ru.yandex.practicum.filmorate.validation;
+
+import org.junit.jupiter.api.Test;
+import ru.yandex.practicum.filmorate.model.FieldViolation;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidatorTest {
+
+    private static final Validator<String> LENGTH = Validator.<String>builder()
+            .rule("value", "max_length", "Не длиннее 5 символов", value -> value.length() <= 5)
+            .build();
+
+    private static final Validator<String> RULES = Validator.<String>builder()
+            .rule("value", "not_blank", "Не может быть пустым", value -> !value.isBlank())
+            .rule("value", "no_spaces", "Без пробелов", value -> !value.contains(" "))
+            .include(LENGTH)
+            .build();
+
+    @Test
+    void testCollectsAllViolationsInOnePass() {
+        Violations violations = new Violations();
+
+        assertFalse(RULES.validate("два слова", violations));
+
+        assertEquals(2, violations.size());
+        assertEquals("no_spaces", violations.code(0));
+        assertEquals("max_length", violations.code(1));
+        assertEquals("Без пробелов; Не длиннее 5 символов", violations.message());
+        assertEquals(List.of(new FieldViolation("value", "Без пробелов"),
+                new FieldViolation("value", "Не длиннее 5 символов")), violations.toList());
+    }
+
+    @Test
+    void testReuseAfterClear() {
+        Violations violations = new Violations();
+        assertFalse(RULES.validate("   ", violations));
+        Violations copy = violations.copy();
+
+        violations.clear();
+        assertTrue(RULES.validate("слово", violations));
+        assertTrue(violations.isEmpty());
+        assertEquals(2, copy.size());
+        assertThrows(IndexOutOfBoundsException.class, () -> violations.field(0));
+    }
+
+    @Test
+    void testGrowsBeyondInitialCapacity() {
+        Validator.Builder<String> builder = Validator.builder();
+        for (int i = 0; i < 20; i++) {
+            builder.rule("field" + i, "rule" + i, "Нарушение " + i, value -> false);
+        }
+        Violations violations = new Violations();
+
+        assertFalse(builder.build().validate("", violations));
+
+        assertEquals(20, violations.size());
+        assertEquals("field19", violations.field(19));
+    }
+}